@@ -7,6 +7,9 @@ import service.TaskManager;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HttpTaskServer {
     public static final int PORT = 8080;
@@ -14,13 +17,22 @@ public class HttpTaskServer {
     protected final TaskManager taskManager;
 
     public HttpTaskServer(TaskManager taskManager) throws IOException {
+        this(taskManager, null);
+    }
+
+    public HttpTaskServer(TaskManager taskManager, Executor executor) throws IOException {
         this.taskManager = taskManager;
         server = HttpServer.create(new InetSocketAddress(PORT), 0);
+        server.setExecutor(executor);
         server.createContext("/tasks", new TaskHandler(taskManager));
         server.createContext("/subtasks", new SubtaskHandler(taskManager));
         server.createContext("/epics", new EpicHandler(taskManager));
         server.createContext("/history", new HistoryHandler(taskManager));
         server.createContext("/prioritized", new PrioritizedHandler(taskManager));
+        server.createContext("/search", new SearchHandler(taskManager));
+        server.createContext("/slots", new SlotHandler(taskManager));
+        server.createContext("/schedule", new ScheduleHandler(taskManager));
+        server.createContext("/board", new BoardHandler(taskManager));
     }
 
     public void start() {
@@ -29,11 +41,20 @@ public class HttpTaskServer {
 
     public void stop() {
         server.stop(0);
+        if (taskManager instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close task manager", e);
+            }
+        }
     }
 
     public static void main(String[] args) throws IOException {
-        TaskManager manager = Managers.getDefault();
-        HttpTaskServer httpTaskServer = new HttpTaskServer(manager);
+        TaskManager manager = Managers.getConcurrent();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpTaskServer httpTaskServer = new HttpTaskServer(manager, executor);
         httpTaskServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(httpTaskServer::stop, "http-task-server-shutdown"));
     }
 }
@@ -4,22 +4,31 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import exceptions.BadRequestException;
 import exceptions.NotFoundException;
 import exceptions.TaskOverlapException;
 import http.handler.adapter.DurationAdapter;
 import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
+import model.TaskStatus;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 public abstract class BaseHttpHandler implements HttpHandler {
 
     protected final Gson gson = new GsonBuilder()
             .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
             .registerTypeAdapter(Duration.class, new DurationAdapter())
+            .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
             .create();
 
     protected void sendJson(HttpExchange exchange, String text, int statusCode) throws IOException {
@@ -82,6 +91,9 @@ public abstract class BaseHttpHandler implements HttpHandler {
         if (e instanceof NotFoundException) {
             statusCode = 404;
             message = e.getMessage();
+        } else if (e instanceof BadRequestException) {
+            statusCode = 400;
+            message = e.getMessage();
         } else if (e instanceof TaskOverlapException) {
             statusCode = 406;
             message = e.getMessage();
@@ -98,6 +110,57 @@ public abstract class BaseHttpHandler implements HttpHandler {
         sendJson(exchange, getFormatted(message), statusCode);
     }
 
+    protected Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator >= 0 ? pair.substring(0, separator) : pair;
+            String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    protected int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+    protected LocalDateTime dateTimeParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+    protected Optional<TaskStatus> statusParam(HttpExchange exchange) {
+        String status = queryParams(exchange).get("status");
+        if (status == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(TaskStatus.valueOf(status.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown status: " + status);
+        }
+    }
+
     private static String getFormatted(String message) {
         return "{\"error\": \"%s\"}".formatted(message);
     }
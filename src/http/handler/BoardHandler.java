@@ -0,0 +1,33 @@
+package http.handler;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import service.BoardSnapshot;
+import service.TaskManager;
+
+import java.io.IOException;
+
+public class BoardHandler extends BaseHttpHandler {
+    private final TaskManager taskManager;
+
+    public BoardHandler(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    protected void processGet(HttpExchange exchange, String path) throws IOException {
+        if (!path.equals("/board")) {
+            sendError(exchange, "Invalid request", 400);
+            return;
+        }
+        BoardSnapshot snapshot = taskManager.snapshot();
+
+        JsonObject board = new JsonObject();
+        board.addProperty("version", snapshot.version());
+        board.add("tasks", gson().toJsonTree(snapshot.getTasks()));
+        board.add("epics", gson().toJsonTree(snapshot.getEpics()));
+        board.add("subtasks", gson().toJsonTree(snapshot.getSubtasks()));
+        board.add("prioritized", gson().toJsonTree(snapshot.getPrioritizedTasks()));
+        sendJson(exchange, gson().toJson(board), 200);
+    }
+}
@@ -4,10 +4,14 @@ import com.sun.net.httpserver.HttpExchange;
 import exceptions.NotFoundException;
 import model.Epic;
 import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
 import service.TaskManager;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import static java.nio.charset.StandardCharsets.*;
 
@@ -21,7 +25,10 @@ public class EpicHandler extends BaseHttpHandler {
     @Override
     protected void processGet(HttpExchange exchange, String path) throws IOException {
         if (path.equals("/epics")) {
-            List<Epic> epics = taskManager.getEpics();
+            Optional<TaskStatus> status = statusParam(exchange);
+            List<? extends Task> epics = status.isPresent()
+                    ? taskManager.getByStatus(TaskType.EPIC, status.get())
+                    : taskManager.getEpics();
             sendJson(exchange, gson().toJson(epics), 200);
         } else if (path.matches("^/epics/\\d+$")) {
             try {
@@ -1,11 +1,14 @@
 package http.handler;
 
 import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
 import model.Task;
 import service.TaskManager;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class PrioritizedHandler extends BaseHttpHandler {
     private final TaskManager taskManager;
@@ -16,7 +19,15 @@ public class PrioritizedHandler extends BaseHttpHandler {
 
     @Override
     protected void processGet(HttpExchange exchange, String path) throws IOException {
-        List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+        Map<String, String> params = queryParams(exchange);
+        LocalDateTime from = dateTimeParam(params, "from");
+        LocalDateTime to = dateTimeParam(params, "to");
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        List<Task> prioritizedTasks = from == null && to == null
+                ? taskManager.getPrioritizedTasks()
+                : taskManager.getPrioritizedTasks(from, to);
         sendJson(exchange, gson().toJson(prioritizedTasks), 200);
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package http.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
+import service.ScheduleRequest;
+import service.ScheduleResult;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class ScheduleHandler extends BaseHttpHandler {
+    private final TaskManager taskManager;
+
+    public ScheduleHandler(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    protected void processPost(HttpExchange exchange, String path) throws IOException {
+        if (!path.equals("/schedule")) {
+            sendError(exchange, "Invalid request", 400);
+            return;
+        }
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        ScheduleRequest request = parse(body);
+        String dryRun = queryParams(exchange).get("dryRun");
+        if (dryRun != null) {
+            request = request.withDryRun(Boolean.parseBoolean(dryRun));
+        }
+        ScheduleResult result = taskManager.schedule(request);
+        sendJson(exchange, gson().toJson(result), 200);
+    }
+
+    private ScheduleRequest parse(String body) {
+        ScheduleRequest request;
+        try {
+            request = gson().fromJson(body, ScheduleRequest.class);
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw new BadRequestException("Invalid schedule request: " + cause.getMessage());
+        }
+        if (request == null) {
+            throw new BadRequestException("Schedule request body is required");
+        }
+        return request;
+    }
+}
@@ -0,0 +1,41 @@
+package http.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
+import model.Task;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class SearchHandler extends BaseHttpHandler {
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final TaskManager taskManager;
+
+    public SearchHandler(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    protected void processGet(HttpExchange exchange, String path) throws IOException {
+        if (!path.equals("/search")) {
+            sendError(exchange, "Invalid request", 400);
+            return;
+        }
+        Map<String, String> params = queryParams(exchange);
+        String query = params.get("q");
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query parameter q is required");
+        }
+        int offset = intParam(params, "offset", 0);
+        int limit = intParam(params, "limit", DEFAULT_LIMIT);
+        if (offset < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Invalid paging: offset=" + offset + ", limit=" + limit);
+        }
+        List<Task> matches = taskManager.search(query, offset, limit);
+        sendJson(exchange, gson().toJson(matches), 200);
+    }
+}
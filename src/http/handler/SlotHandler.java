@@ -0,0 +1,44 @@
+package http.handler;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
+import exceptions.NotFoundException;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class SlotHandler extends BaseHttpHandler {
+    private final TaskManager taskManager;
+
+    public SlotHandler(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    protected void processGet(HttpExchange exchange, String path) throws IOException {
+        if (!path.equals("/slots")) {
+            sendError(exchange, "Invalid request", 400);
+            return;
+        }
+        Map<String, String> params = queryParams(exchange);
+        int minutes = intParam(params, "duration", -1);
+        LocalDateTime notBefore = dateTimeParam(params, "notBefore");
+        LocalDateTime notAfter = dateTimeParam(params, "notAfter");
+        if (minutes < 0 || notBefore == null) {
+            throw new BadRequestException("Query parameters duration and notBefore are required");
+        }
+        Duration duration = Duration.ofMinutes(minutes);
+        LocalDateTime start = taskManager.findFreeSlot(duration, notBefore, notAfter)
+                .orElseThrow(() -> new NotFoundException("No free slot found"));
+
+        JsonObject slot = new JsonObject();
+        slot.add("startTime", gson().toJsonTree(start));
+        slot.add("endTime", gson().toJsonTree(start.plus(duration)));
+        slot.add("duration", gson().toJsonTree(duration));
+        sendJson(exchange, gson().toJson(slot), 200);
+    }
+}
@@ -4,11 +4,15 @@ import com.google.gson.JsonObject;
 import com.sun.net.httpserver.HttpExchange;
 import exceptions.NotFoundException;
 import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
 import service.TaskManager;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 public class SubtaskHandler extends BaseHttpHandler {
     private final TaskManager taskManager;
@@ -41,7 +45,10 @@ public class SubtaskHandler extends BaseHttpHandler {
                     .orElseThrow(() -> new NotFoundException("Subtask not found"));
             sendJson(exchange, gson().toJson(subtask), 200);
         } else if (path.equals("/subtasks")) {
-            List<Subtask> subtasks = taskManager.getSubtasks();
+            Optional<TaskStatus> status = statusParam(exchange);
+            List<? extends Task> subtasks = status.isPresent()
+                    ? taskManager.getByStatus(TaskType.SUBTASK, status.get())
+                    : taskManager.getSubtasks();
             sendJson(exchange, gson().toJson(subtasks), 200);
         } else sendError(exchange, "Invalid request", 400);
     }
@@ -2,8 +2,10 @@ package http.handler;
 
 import com.google.gson.JsonObject;
 import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
 import exceptions.NotFoundException;
 import model.Task;
+import model.TaskType;
 import service.TaskManager;
 
 import java.io.IOException;
@@ -42,13 +44,17 @@ public class TaskHandler extends BaseHttpHandler {
                         .orElseThrow(() -> new NotFoundException("Task not found"));
                 sendJson(exchange, gson().toJson(task), 200);
             } else if (path.equals("/tasks")) {
-                List<Task> tasks = taskManager.getTasks();
+                List<Task> tasks = statusParam(exchange)
+                        .map(status -> taskManager.getByStatus(TaskType.TASK, status))
+                        .orElseGet(taskManager::getTasks);
                 sendJson(exchange, gson().toJson(tasks), 200);
             } else {
                 throw new NotFoundException("Invalid request");
             }
         } catch (NotFoundException e) {
             sendError(exchange, e.getMessage(), 404);
+        } catch (BadRequestException e) {
+            sendError(exchange, e.getMessage(), 400);
         } catch (Exception e) {
             sendError(exchange, "Iternal server error", 500);
         }
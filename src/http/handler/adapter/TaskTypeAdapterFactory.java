@@ -0,0 +1,121 @@
+package http.handler.adapter;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class TaskTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType != Task.class && rawType != Epic.class && rawType != Subtask.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new TaskAdapter(gson, rawType).nullSafe();
+    }
+
+    private static final class TaskAdapter extends TypeAdapter<Task> {
+        private final Class<?> rawType;
+        private final TypeAdapter<Duration> durationAdapter;
+        private final TypeAdapter<LocalDateTime> timeAdapter;
+        private final TypeAdapter<JsonElement> elementAdapter;
+
+        private TaskAdapter(Gson gson, Class<?> rawType) {
+            this.rawType = rawType;
+            this.durationAdapter = gson.getAdapter(Duration.class);
+            this.timeAdapter = gson.getAdapter(LocalDateTime.class);
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, Task task) throws IOException {
+            out.beginObject();
+            if (task.getId() != -1) {
+                out.name("id").value(task.getId());
+            }
+            writeString(out, "name", task.getName());
+            writeString(out, "description", task.getDescription());
+            if (task.getStatus() != null) {
+                out.name("status").value(task.getStatus().name());
+            }
+            if (task.getDuration() != null) {
+                durationAdapter.write(out.name("duration"), task.getDuration());
+            }
+            if (task.getStartTime() != null) {
+                timeAdapter.write(out.name("startTime"), task.getStartTime());
+            }
+            if (task.getEndTime() != null) {
+                timeAdapter.write(out.name("endTime"), task.getEndTime());
+            }
+            if (task instanceof Subtask subtask) {
+                out.name("epicId").value(subtask.getEpicId());
+            } else if (task instanceof Epic epic) {
+                out.name("subtaskIds").beginArray();
+                for (int subtaskId : epic.getSubtaskIdsByEpic()) {
+                    out.value(subtaskId);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Task read(JsonReader in) throws IOException {
+            JsonElement element = elementAdapter.read(in);
+            if (!element.isJsonObject()) {
+                throw new JsonParseException("Ожидался объект задачи: " + element);
+            }
+            JsonObject json = element.getAsJsonObject();
+            Integer id = has(json, "id") ? json.get("id").getAsInt() : null;
+            String name = has(json, "name") ? json.get("name").getAsString() : null;
+            String description = has(json, "description") ? json.get("description").getAsString() : null;
+            TaskStatus status = has(json, "status") ? TaskStatus.valueOf(json.get("status").getAsString()) : null;
+
+            Task task;
+            if (rawType == Subtask.class) {
+                int epicId = has(json, "epicId") ? json.get("epicId").getAsInt() : 0;
+                task = new Subtask(id, name, description, status, epicId, null, null);
+            } else if (rawType == Epic.class) {
+                Epic epic = new Epic(id, name, description, status, null, null);
+                if (has(json, "subtaskIds")) {
+                    json.getAsJsonArray("subtaskIds").forEach(subtaskId -> epic.addSubtaskId(subtaskId.getAsInt()));
+                }
+                task = epic;
+            } else {
+                task = new Task(id, name, description, status, null, null);
+            }
+            if (has(json, "duration")) {
+                task.setDuration(durationAdapter.fromJsonTree(json.get("duration")));
+            }
+            if (has(json, "startTime")) {
+                task.setStartTime(timeAdapter.fromJsonTree(json.get("startTime")));
+            }
+            if (has(json, "endTime")) {
+                task.setEndTime(timeAdapter.fromJsonTree(json.get("endTime")));
+            }
+            return task;
+        }
+
+        private static void writeString(JsonWriter out, String name, String value) throws IOException {
+            if (value != null) {
+                out.name(name).value(value);
+            }
+        }
+
+        private static boolean has(JsonObject json, String name) {
+            return json.has(name) && !json.get(name).isJsonNull();
+        }
+    }
+}
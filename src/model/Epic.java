@@ -1,14 +1,13 @@
 package model;
 
-
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 public class Epic extends Task {
-    private final Set<Integer> subtaskIds = new HashSet<>();
+    private final Set<Integer> subtaskIds = new LinkedHashSet<>();
 
     public Epic(String name, String description) {
         super(name, description, Duration.ZERO, null);
@@ -3,27 +3,50 @@ package model;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Objects;
 
 public class Task {
+    public static final long NO_TIME = Long.MIN_VALUE;
+
     private final String name;
     private final String description;
     private TaskStatus status;
     private Integer id;
-    private Duration duration;
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
+    private long durationSeconds = NO_TIME;
+    private long startEpochSecond = NO_TIME;
+    private long endEpochSecond = NO_TIME;
 
     public Duration getDuration() {
-        return duration;
+        return durationSeconds != NO_TIME ? Duration.ofSeconds(durationSeconds) : null;
     }
 
     public LocalDateTime getStartTime() {
-        return startTime;
+        return toDateTime(startEpochSecond);
     }
 
     public LocalDateTime getEndTime() {
-        return endTime;
+        return toDateTime(endEpochSecond);
+    }
+
+    public long getStartEpochSecond() {
+        return startEpochSecond;
+    }
+
+    public long getEndEpochSecond() {
+        return endEpochSecond;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds != NO_TIME ? durationSeconds : 0;
+    }
+
+    public static long toEpochSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+    }
+
+    public static LocalDateTime toDateTime(long epochSecond) {
+        return epochSecond != NO_TIME ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
     }
 
     public Task(String name, String description, TaskStatus status) {
@@ -68,11 +91,11 @@ public class Task {
     }
 
     private void prefillTime(Duration duration, LocalDateTime startTime) {
-        this.duration = duration;
-        this.startTime = startTime;
+        this.durationSeconds = duration != null ? duration.getSeconds() : NO_TIME;
+        this.startEpochSecond = toEpochSecond(startTime);
         if (startTime != null) {
-            this.endTime = startTime.plus(duration);
-        } else endTime = null;
+            this.endEpochSecond = startEpochSecond + duration.getSeconds();
+        } else endEpochSecond = NO_TIME;
     }
 
     public Task(String name, String description, Duration duration, LocalDateTime startTime) {
@@ -97,7 +120,7 @@ public class Task {
 
     @Override
     public String toString() {
-        return "%d,%s,%s,%s,%s,%s,%s".formatted(this.id, TaskType.TASK, this.name, this.status, this.description, this.duration, this.startTime);
+        return "%d,%s,%s,%s,%s,%s,%s".formatted(this.id, TaskType.TASK, this.name, this.status, this.description, getDuration(), getStartTime());
     }
 
     public String getName() {
@@ -105,15 +128,15 @@ public class Task {
     }
 
     public void setDuration(Duration duration) {
-        this.duration = duration;
+        this.durationSeconds = duration != null ? duration.getSeconds() : NO_TIME;
     }
 
     public void setStartTime(LocalDateTime startTime) {
-        this.startTime = startTime;
+        this.startEpochSecond = toEpochSecond(startTime);
     }
 
     public void setEndTime(LocalDateTime endTime) {
-        this.endTime = endTime;
+        this.endEpochSecond = toEpochSecond(endTime);
     }
 
     public String getDescription() {
@@ -0,0 +1,131 @@
+package service;
+
+import model.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+final class BinarySnapshotCodec {
+    static final int MAGIC = 0x4B4E4253;
+    static final int VERSION = 2;
+    private static final int MINUTES_VERSION = 1;
+    private static final long NO_START_TIME = Long.MIN_VALUE;
+    private static final int NO_EPIC = -1;
+    private static final int NULL_LENGTH = -1;
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BinarySnapshotCodec() {
+    }
+
+    static boolean isBinary(ByteBuffer buffer) {
+        return buffer.remaining() >= Integer.BYTES && buffer.getInt(buffer.position()) == MAGIC;
+    }
+
+    static void write(OutputStream outputStream, int generatorId, Collection<? extends Task> tasks,
+                      Collection<? extends Task> epics, Collection<? extends Task> subtasks) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(tasks.size() + epics.size() + subtasks.size());
+        out.writeInt(generatorId);
+        for (Task task : tasks) {
+            writeTask(out, task);
+        }
+        for (Task epic : epics) {
+            writeTask(out, epic);
+        }
+        for (Task subtask : subtasks) {
+            writeTask(out, subtask);
+        }
+        out.flush();
+    }
+
+    static Contents read(ByteBuffer buffer) {
+        if (!isBinary(buffer)) {
+            throw new IllegalArgumentException("Неизвестный формат снимка");
+        }
+        buffer.getInt();
+        int version = buffer.getInt();
+        if (version != VERSION && version != MINUTES_VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия снимка: " + version);
+        }
+        int count = buffer.getInt();
+        int generatorId = buffer.getInt();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(readTask(buffer, version));
+        }
+        return new Contents(generatorId, tasks);
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        TaskType type = task.getTaskType();
+        out.writeByte(type.ordinal());
+        out.writeInt(task.getId());
+        out.writeByte(task.getStatus() != null ? task.getStatus().ordinal() : NULL_LENGTH);
+        out.writeInt(type == TaskType.SUBTASK ? ((Subtask) task).getEpicId() : NO_EPIC);
+        LocalDateTime startTime = task.getStartTime();
+        out.writeLong(startTime != null ? startTime.toEpochSecond(ZoneOffset.UTC) : NO_START_TIME);
+        out.writeLong(task.getDuration() != null ? task.getDuration().getSeconds() : 0);
+        writeString(out, task.getName());
+        writeString(out, task.getDescription());
+    }
+
+    private static Task readTask(ByteBuffer buffer, int version) {
+        TaskType type = TYPES[buffer.get()];
+        int id = buffer.getInt();
+        byte statusOrdinal = buffer.get();
+        TaskStatus status = statusOrdinal == NULL_LENGTH ? null : STATUSES[statusOrdinal];
+        int epicId = buffer.getInt();
+        long start = buffer.getLong();
+        LocalDateTime startTime;
+        Duration duration;
+        if (version == MINUTES_VERSION) {
+            startTime = start == NO_START_TIME ? null : LocalDateTime.ofEpochSecond(start * 60, 0, ZoneOffset.UTC);
+            duration = Duration.ofMinutes(buffer.getInt());
+        } else {
+            startTime = start == NO_START_TIME ? null : LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC);
+            duration = Duration.ofSeconds(buffer.getLong());
+        }
+        String name = readString(buffer);
+        String description = readString(buffer);
+        return switch (type) {
+            case TASK -> new Task(id, name, description, status, duration, startTime);
+            case EPIC -> new Epic(id, name, description, status, duration, startTime);
+            case SUBTASK -> new Subtask(id, name, description, status, epicId, duration, startTime);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    record Contents(int generatorId, List<Task> tasks) {
+    }
+}
@@ -0,0 +1,76 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public final class BoardSnapshot {
+    private final long version;
+    private final PersistentSortedMap<Integer, Task> tasks;
+    private final PersistentSortedMap<Integer, Epic> epics;
+    private final PersistentSortedMap<Integer, Subtask> subtasks;
+    private final PersistentSortedMap<Task, Task> prioritized;
+
+    BoardSnapshot(long version, PersistentSortedMap<Integer, Task> tasks, PersistentSortedMap<Integer, Epic> epics,
+                  PersistentSortedMap<Integer, Subtask> subtasks, PersistentSortedMap<Task, Task> prioritized) {
+        this.version = version;
+        this.tasks = tasks;
+        this.epics = epics;
+        this.subtasks = subtasks;
+        this.prioritized = prioritized;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<Task> getTasks() {
+        return VersionedBoard.copies(tasks.values());
+    }
+
+    public List<Epic> getEpics() {
+        return VersionedBoard.copies(epics.values());
+    }
+
+    public List<Subtask> getSubtasks() {
+        return VersionedBoard.copies(subtasks.values());
+    }
+
+    public List<Task> getPrioritizedTasks() {
+        return VersionedBoard.copies(prioritized.values());
+    }
+
+    public Optional<Task> getTask(int id) {
+        return Optional.ofNullable(VersionedBoard.copy(tasks.get(id)));
+    }
+
+    public Optional<Epic> getEpic(int id) {
+        return Optional.ofNullable(VersionedBoard.copy(epics.get(id)));
+    }
+
+    public Optional<Subtask> getSubtask(int id) {
+        return Optional.ofNullable(VersionedBoard.copy(subtasks.get(id)));
+    }
+
+    List<Task> prioritizedView() {
+        return prioritized.values();
+    }
+
+    public List<Subtask> getSubtasksByEpicId(int epicId) {
+        List<Subtask> result = new ArrayList<>();
+        Epic epic = epics.get(epicId);
+        if (epic != null) {
+            for (int subtaskId : epic.getSubtaskIdsByEpic()) {
+                Subtask subtask = subtasks.get(subtaskId);
+                if (subtask != null) {
+                    result.add(VersionedBoard.copy(subtask));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,648 @@
+package service;
+
+import exceptions.InvalidTaskTimeException;
+import exceptions.NotFoundException;
+import model.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+public class ColumnarTaskManager implements TaskManager {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final byte EMPTY = -1;
+    private static final byte NO_STATUS = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final HistoryManager historyManager;
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final VersionedBoard board = new VersionedBoard();
+    private final NavigableSet<Slot> timeline = new TreeSet<>(
+            Comparator.comparingLong(Slot::start).thenComparingInt(Slot::id));
+    private int generatorId = 0;
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private int[] epicIds = new int[INITIAL_CAPACITY];
+    private long[] startSeconds = new long[INITIAL_CAPACITY];
+    private long[] endSeconds = new long[INITIAL_CAPACITY];
+    private long[] durationSeconds = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int[][] children = new int[INITIAL_CAPACITY][];
+    private int[] childCounts = new int[INITIAL_CAPACITY];
+
+    public ColumnarTaskManager(HistoryManager historyManager) {
+        this.historyManager = historyManager;
+        Arrays.fill(types, EMPTY);
+    }
+
+    @Override
+    public List<Task> getAllTasksInHistoryList() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return collect(TaskType.TASK);
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return collect(TaskType.SUBTASK);
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return collect(TaskType.EPIC);
+    }
+
+    @Override
+    public List<Task> getByStatus(TaskType type, TaskStatus status) {
+        byte typeCode = (byte) type.ordinal();
+        byte statusCode = (byte) status.ordinal();
+        List<Task> result = new ArrayList<>();
+        for (int id = 1; id <= generatorId; id++) {
+            if (types[id] == typeCode && statuses[id] == statusCode) {
+                result.add(materialize(id));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> search(String query, int offset, int limit) {
+        List<Task> result = new ArrayList<>();
+        for (int id : searchIndex.search(query, offset, limit)) {
+            result.add(materialize(id));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Task> List<T> collect(TaskType type) {
+        byte code = (byte) type.ordinal();
+        List<T> result = new ArrayList<>();
+        for (int id = 1; id <= generatorId; id++) {
+            if (types[id] == code) {
+                result.add((T) materialize(id));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        checkNoConflicts(task, 0);
+        int id = nextId();
+        store(id, task, TaskType.TASK);
+        task.setId(id);
+        return task;
+    }
+
+    @Override
+    public Epic createEpic(Epic epic) {
+        int id = nextId();
+        store(id, epic, TaskType.EPIC);
+        epic.setId(id);
+        return epic;
+    }
+
+    @Override
+    public Subtask createSubtask(Subtask subtask) {
+        int epicId = subtask.getEpicId();
+        if (!is(epicId, TaskType.EPIC)) {
+            throw new NotFoundException("Эпик с id=" + epicId + " не найден");
+        }
+        checkNoConflicts(subtask, 0);
+        int id = nextId();
+        store(id, subtask, TaskType.SUBTASK);
+        addChild(epicId, id);
+        subtask.setId(id);
+        return subtask;
+    }
+
+    @Override
+    public void deleteTasks() {
+        for (int id = 1; id <= generatorId; id++) {
+            if (is(id, TaskType.TASK)) {
+                historyManager.removeFromTaskHistory(id);
+                clear(id);
+            }
+        }
+    }
+
+    @Override
+    public void deleteSubtasks() {
+        for (int id = 1; id <= generatorId; id++) {
+            if (is(id, TaskType.SUBTASK)) {
+                historyManager.removeFromTaskHistory(id);
+                clear(id);
+            }
+        }
+        for (int id = 1; id <= generatorId; id++) {
+            if (is(id, TaskType.EPIC)) {
+                childCounts[id] = 0;
+                recalculateEpic(id);
+                startSeconds[id] = NO_TIME;
+                endSeconds[id] = NO_TIME;
+                durationSeconds[id] = 0;
+                publish(id);
+            }
+        }
+    }
+
+    @Override
+    public void deleteEpics() {
+        for (int id = 1; id <= generatorId; id++) {
+            if (is(id, TaskType.EPIC) || is(id, TaskType.SUBTASK)) {
+                historyManager.removeFromTaskHistory(id);
+                clear(id);
+            }
+        }
+    }
+
+    @Override
+    public Task updateTask(int taskId, Task modifiedTask) {
+        requireExisting(taskId, TaskType.TASK);
+        checkNoConflicts(modifiedTask, taskId);
+        store(taskId, modifiedTask, TaskType.TASK);
+        modifiedTask.setId(taskId);
+        return modifiedTask;
+    }
+
+    @Override
+    public Epic updateEpic(int epicId, Epic modifiedEpic) {
+        requireExisting(epicId, TaskType.EPIC);
+        store(epicId, modifiedEpic, TaskType.EPIC);
+        if (childCounts[epicId] > 0) {
+            recalculateEpic(epicId);
+        }
+        modifiedEpic.setId(epicId);
+        return modifiedEpic;
+    }
+
+    @Override
+    public Subtask updateSubtask(int subtaskId, Subtask modifiedSubtask) {
+        int epicId = modifiedSubtask.getEpicId();
+        if (!is(epicId, TaskType.EPIC)) {
+            throw new NotFoundException("Эпик с id=" + epicId + " не найден");
+        }
+        requireExisting(subtaskId, TaskType.SUBTASK);
+        checkNoConflicts(modifiedSubtask, subtaskId);
+        boolean isNewChild = epicIds[subtaskId] != epicId;
+        if (isNewChild) {
+            removeChild(epicIds[subtaskId], subtaskId);
+        }
+        store(subtaskId, modifiedSubtask, TaskType.SUBTASK);
+        if (isNewChild) {
+            addChild(epicId, subtaskId);
+        } else {
+            recalculateEpic(epicId);
+        }
+        modifiedSubtask.setId(subtaskId);
+        return modifiedSubtask;
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Integer taskId) {
+        return findForHistory(taskId, TaskType.TASK);
+    }
+
+    @Override
+    public Optional<Epic> getEpicById(Integer epicId) {
+        return findForHistory(epicId, TaskType.EPIC);
+    }
+
+    @Override
+    public Optional<Subtask> getSubtaskById(Integer subtaskId) {
+        return findForHistory(subtaskId, TaskType.SUBTASK);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Task> Optional<T> findForHistory(Integer id, TaskType type) {
+        if (id == null || !is(id, type)) {
+            return Optional.empty();
+        }
+        historyManager.addToHistory(materialize(id));
+        return Optional.of((T) materialize(id));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByEpicId(int epicId) {
+        List<Subtask> result = new ArrayList<>();
+        if (!is(epicId, TaskType.EPIC)) {
+            return result;
+        }
+        for (int i = 0; i < childCounts[epicId]; i++) {
+            result.add((Subtask) materialize(children[epicId][i]));
+        }
+        return result;
+    }
+
+    @Override
+    public Task deleteTask(int taskId) {
+        if (!is(taskId, TaskType.TASK)) {
+            historyManager.removeFromTaskHistory(taskId);
+            return null;
+        }
+        Task deleted = materialize(taskId);
+        historyManager.removeFromTaskHistory(taskId);
+        clear(taskId);
+        return deleted;
+    }
+
+    @Override
+    public Epic deleteEpic(int epicId) {
+        historyManager.removeFromTaskHistory(epicId);
+        if (!is(epicId, TaskType.EPIC)) {
+            return null;
+        }
+        Epic deleted = (Epic) materialize(epicId);
+        for (int i = 0; i < childCounts[epicId]; i++) {
+            int subtaskId = children[epicId][i];
+            historyManager.removeFromTaskHistory(subtaskId);
+            clear(subtaskId);
+        }
+        clear(epicId);
+        return deleted;
+    }
+
+    @Override
+    public Subtask deleteSubtask(int subtaskId) {
+        if (!is(subtaskId, TaskType.SUBTASK)) {
+            return null;
+        }
+        Subtask deleted = (Subtask) materialize(subtaskId);
+        historyManager.removeFromTaskHistory(subtaskId);
+        int epicId = epicIds[subtaskId];
+        clear(subtaskId);
+        removeChild(epicId, subtaskId);
+        getEpicById(epicId);
+        return deleted;
+    }
+
+    @Override
+    public void epicCheckStatus(int epicId) {
+        if (is(epicId, TaskType.EPIC)) {
+            recalculateEpic(epicId);
+        }
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return getPrioritizedTasks(null, null);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        long windowStart = from != null ? toSeconds(from) : NO_TIME;
+        long windowEnd = to != null ? toSeconds(to) : NO_TIME;
+        if (windowStart != NO_TIME && windowEnd != NO_TIME && windowEnd < windowStart) {
+            return new ArrayList<>();
+        }
+        List<Task> result = new ArrayList<>();
+        NavigableSet<Slot> candidates = timeline;
+        if (windowStart != NO_TIME) {
+            Slot head = new Slot(windowStart, 0);
+            int previous = previousWithLength(head);
+            if (previous != 0 && endSeconds[previous] > windowStart) {
+                result.add(materialize(previous));
+            }
+            candidates = timeline.tailSet(head, true);
+        }
+        if (windowEnd != NO_TIME) {
+            candidates = candidates.headSet(new Slot(windowEnd, 0), false);
+        }
+        for (Slot slot : candidates) {
+            result.add(materialize(slot.id()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean validateTask(Task task) {
+        if (task.getStartTime() == null || task.getEndTime() == null) {
+            return true;
+        }
+        int excludedId = task.getId() != null ? task.getId() : 0;
+        return !hasConflict(toSeconds(task.getStartTime()), toSeconds(task.getEndTime()), excludedId);
+    }
+
+    @Override
+    public List<Task> findConflicts(LocalDateTime start, LocalDateTime end) {
+        long from = toSeconds(start);
+        long to = toSeconds(end);
+        List<Task> conflicts = new ArrayList<>();
+        for (int id : overlapping(from, to, 0, false)) {
+            conflicts.add(materialize(id));
+        }
+        return conflicts.reversed();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFreeSlot(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter) {
+        if (duration == null || duration.isNegative() || notBefore == null) {
+            throw new IllegalArgumentException("Нужны неотрицательная длительность и начало поиска");
+        }
+        long length = duration.getSeconds();
+        long limit = notAfter != null ? toSeconds(notAfter) : NO_TIME;
+        long cursor = toSeconds(notBefore);
+        Slot head = new Slot(cursor, 0);
+        int previous = previousWithLength(head);
+        if (previous != 0) {
+            cursor = Math.max(cursor, endSeconds[previous]);
+        }
+        for (Slot slot : timeline.tailSet(head, true)) {
+            int id = slot.id();
+            if (startSeconds[id] >= cursor + length || (limit != NO_TIME && cursor + length > limit)) {
+                break;
+            }
+            cursor = Math.max(cursor, startSeconds[id] == endSeconds[id] ? startSeconds[id] : endSeconds[id]);
+        }
+        if (limit != NO_TIME && cursor + length > limit) {
+            return Optional.empty();
+        }
+        return Optional.of(toDateTime(cursor));
+    }
+
+    @Override
+    public ScheduleResult schedule(ScheduleRequest request) {
+        GapScheduler scheduler = new GapScheduler(request.notBefore(), request.notAfter());
+        Slot head = new Slot(Task.toEpochSecond(request.notBefore()), 0);
+        int previous = previousWithLength(head);
+        if (previous != 0) {
+            scheduler.busy(startSeconds[previous], endSeconds[previous]);
+        }
+        NavigableSet<Slot> busy = timeline.tailSet(head, true);
+        if (request.notAfter() != null) {
+            busy = busy.headSet(new Slot(toSeconds(request.notAfter()), 0), false);
+        }
+        for (Slot slot : busy) {
+            scheduler.busy(startSeconds[slot.id()], endSeconds[slot.id()]);
+        }
+        List<Task> candidates = new ArrayList<>();
+        List<Integer> rejected = new ArrayList<>();
+        if (request.taskIds() == null) {
+            for (int id = 1; id <= generatorId; id++) {
+                if ((is(id, TaskType.TASK) || is(id, TaskType.SUBTASK)) && startSeconds[id] == NO_TIME) {
+                    candidates.add(materialize(id));
+                }
+            }
+        } else {
+            for (int id : request.taskIds()) {
+                if ((is(id, TaskType.TASK) || is(id, TaskType.SUBTASK)) && startSeconds[id] == NO_TIME) {
+                    candidates.add(materialize(id));
+                } else {
+                    rejected.add(id);
+                }
+            }
+        }
+
+        ScheduleResult result = scheduler.schedule(candidates, request);
+        result.unscheduled().addAll(rejected);
+        if (!request.dryRun()) {
+            for (Task placed : result.scheduled()) {
+                store(placed.getId(), placed, placed.getTaskType());
+                if (placed instanceof Subtask subtask) {
+                    recalculateEpic(subtask.getEpicId());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return board.snapshot();
+    }
+
+    private void checkNoConflicts(Task task, int excludedId) {
+        if (task.getStartTime() == null || task.getEndTime() == null) {
+            return;
+        }
+        if (hasConflict(toSeconds(task.getStartTime()), toSeconds(task.getEndTime()), excludedId)) {
+            throw new InvalidTaskTimeException("Задача с id=" + task.getId() + " пересекается с другими задачами.");
+        }
+    }
+
+    private boolean hasConflict(long from, long to, int excludedId) {
+        return !overlapping(from, to, excludedId, true).isEmpty();
+    }
+
+    private List<Integer> overlapping(long from, long to, int excludedId, boolean firstOnly) {
+        List<Integer> ids = new ArrayList<>();
+        for (Slot slot : timeline.headSet(new Slot(to, 0), false).descendingSet()) {
+            int id = slot.id();
+            if (id != excludedId && from < endSeconds[id]) {
+                ids.add(id);
+                if (firstOnly) {
+                    break;
+                }
+            }
+            if (startSeconds[id] != endSeconds[id] && endSeconds[id] <= from) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private void requireExisting(int id, TaskType type) {
+        if (id < 1 || id > generatorId || !is(id, type)) {
+            throw new NotFoundException(switch (type) {
+                case TASK -> "Задача с id=" + id + " не найдена";
+                case EPIC -> "Эпик с id=" + id + " не найден";
+                case SUBTASK -> "Подзадача с id=" + id + " не найдена";
+            });
+        }
+    }
+
+    private boolean isTimed(int id) {
+        byte type = types[id];
+        return type != EMPTY && type != TaskType.EPIC.ordinal() && startSeconds[id] != NO_TIME;
+    }
+
+    private int previousWithLength(Slot head) {
+        for (Slot previous : timeline.headSet(head, false).descendingSet()) {
+            if (startSeconds[previous.id()] != endSeconds[previous.id()]) {
+                return previous.id();
+            }
+        }
+        return 0;
+    }
+
+    private int nextId() {
+        int id = ++generatorId;
+        ensureCapacity(id);
+        return id;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < types.length) {
+            generatorId = Math.max(generatorId, id);
+            return;
+        }
+        int capacity = Math.max(id + 1, types.length * 2);
+        int oldCapacity = types.length;
+        types = Arrays.copyOf(types, capacity);
+        Arrays.fill(types, oldCapacity, capacity, EMPTY);
+        statuses = Arrays.copyOf(statuses, capacity);
+        epicIds = Arrays.copyOf(epicIds, capacity);
+        startSeconds = Arrays.copyOf(startSeconds, capacity);
+        endSeconds = Arrays.copyOf(endSeconds, capacity);
+        durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        children = Arrays.copyOf(children, capacity);
+        childCounts = Arrays.copyOf(childCounts, capacity);
+        generatorId = Math.max(generatorId, id);
+    }
+
+    private boolean is(int id, TaskType type) {
+        return id > 0 && id < types.length && types[id] == type.ordinal();
+    }
+
+    private void store(int id, Task task, TaskType type) {
+        untrack(id);
+        types[id] = (byte) type.ordinal();
+        statuses[id] = task.getStatus() != null ? (byte) task.getStatus().ordinal() : NO_STATUS;
+        epicIds[id] = type == TaskType.SUBTASK ? ((Subtask) task).getEpicId() : 0;
+        startSeconds[id] = task.getStartTime() != null ? toSeconds(task.getStartTime()) : NO_TIME;
+        endSeconds[id] = task.getEndTime() != null ? toSeconds(task.getEndTime()) : NO_TIME;
+        durationSeconds[id] = task.getDuration() != null ? task.getDuration().toSeconds() : 0;
+        names[id] = task.getName();
+        descriptions[id] = task.getDescription();
+        searchIndex.put(id, task.getName(), task.getDescription());
+        track(id);
+        publish(id);
+    }
+
+    private void track(int id) {
+        if (isTimed(id)) {
+            timeline.add(new Slot(startSeconds[id], id));
+        }
+    }
+
+    private void untrack(int id) {
+        if (isTimed(id)) {
+            timeline.remove(new Slot(startSeconds[id], id));
+        }
+    }
+
+    private void clear(int id) {
+        untrack(id);
+        searchIndex.remove(id);
+        board.remove(TYPES[types[id]], id);
+        types[id] = EMPTY;
+        names[id] = null;
+        descriptions[id] = null;
+        children[id] = null;
+        childCounts[id] = 0;
+    }
+
+    private void addChild(int epicId, int subtaskId) {
+        int[] ids = children[epicId];
+        if (ids == null) {
+            ids = new int[4];
+        } else if (childCounts[epicId] == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[childCounts[epicId]++] = subtaskId;
+        children[epicId] = ids;
+        recalculateEpic(epicId);
+    }
+
+    private void removeChild(int epicId, int subtaskId) {
+        if (!is(epicId, TaskType.EPIC)) {
+            return;
+        }
+        int[] ids = children[epicId];
+        int count = childCounts[epicId];
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == subtaskId) {
+                System.arraycopy(ids, i + 1, ids, i, count - i - 1);
+                childCounts[epicId] = count - 1;
+                break;
+            }
+        }
+        recalculateEpic(epicId);
+    }
+
+    private void recalculateEpic(int epicId) {
+        int count = childCounts[epicId];
+        int[] statusCounts = new int[STATUSES.length];
+        long minStart = Long.MAX_VALUE;
+        long maxEnd = Long.MIN_VALUE;
+        long duration = 0;
+        for (int i = 0; i < count; i++) {
+            int id = children[epicId][i];
+            if (statuses[id] != NO_STATUS) {
+                statusCounts[statuses[id]]++;
+            }
+            if (startSeconds[id] != NO_TIME) {
+                minStart = Math.min(minStart, startSeconds[id]);
+                maxEnd = Math.max(maxEnd, endSeconds[id]);
+                duration += durationSeconds[id];
+            }
+        }
+        statuses[epicId] = (byte) epicStatus(count, statusCounts).ordinal();
+        if (count > 0) {
+            startSeconds[epicId] = minStart == Long.MAX_VALUE ? NO_TIME : minStart;
+            endSeconds[epicId] = maxEnd == Long.MIN_VALUE ? NO_TIME : maxEnd;
+            durationSeconds[epicId] = duration;
+        }
+        publish(epicId);
+    }
+
+    private void publish(int id) {
+        if (TYPES[types[id]] == TaskType.EPIC) {
+            board.putEpic(id, () -> (Epic) materialize(id));
+        } else {
+            board.put(materialize(id));
+        }
+    }
+
+    private static TaskStatus epicStatus(int count, int[] statusCounts) {
+        if (statusCounts[TaskStatus.IN_PROGRESS.ordinal()] > 0) return TaskStatus.IN_PROGRESS;
+        if (statusCounts[TaskStatus.DONE.ordinal()] == count) return TaskStatus.DONE;
+        if (statusCounts[TaskStatus.NEW.ordinal()] == count) return TaskStatus.NEW;
+        return TaskStatus.IN_PROGRESS;
+    }
+
+    private Task materialize(int id) {
+        TaskStatus status = statuses[id] == NO_STATUS ? null : STATUSES[statuses[id]];
+        Duration duration = Duration.ofSeconds(durationSeconds[id]);
+        LocalDateTime startTime = toDateTime(startSeconds[id]);
+        return switch (TYPES[types[id]]) {
+            case TASK -> new Task(id, names[id], descriptions[id], status, duration, startTime);
+            case SUBTASK -> new Subtask(id, names[id], descriptions[id], status, epicIds[id], duration, startTime);
+            case EPIC -> {
+                Epic epic = new Epic(id, names[id], descriptions[id], status, duration, startTime);
+                epic.setEndTime(toDateTime(endSeconds[id]));
+                for (int i = 0; i < childCounts[id]; i++) {
+                    epic.addSubtaskId(children[id][i]);
+                }
+                yield epic;
+            }
+        };
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long seconds) {
+        return seconds == NO_TIME ? null : LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    private record Slot(long start, int id) {
+    }
+}
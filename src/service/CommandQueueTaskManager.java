@@ -0,0 +1,413 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class CommandQueueTaskManager implements TaskManager, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_BATCH = 256;
+
+    private final TaskManager delegate;
+    private final BlockingQueue<Command<?>> commands;
+    private final Thread writer;
+    private volatile BoardSnapshot published;
+    private volatile boolean running = true;
+
+    public CommandQueueTaskManager(TaskManager delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    public CommandQueueTaskManager(TaskManager delegate, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ёмкость очереди команд должна быть положительной");
+        }
+        this.delegate = delegate;
+        this.commands = new ArrayBlockingQueue<>(capacity);
+        this.published = delegate.snapshot();
+        this.writer = new Thread(this::drain, "task-command-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public List<Task> getAllTasksInHistoryList() {
+        return read(manager -> VersionedBoard.copies(manager.getAllTasksInHistoryList()));
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return published.getTasks();
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return published.getSubtasks();
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return published.getEpics();
+    }
+
+    @Override
+    public List<Task> getByStatus(TaskType type, TaskStatus status) {
+        return read(manager -> VersionedBoard.copies(manager.getByStatus(type, status)));
+    }
+
+    @Override
+    public List<Task> search(String query, int offset, int limit) {
+        return read(manager -> VersionedBoard.copies(manager.search(query, offset, limit)));
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return write(manager -> VersionedBoard.copy(manager.createTask(task)));
+    }
+
+    @Override
+    public Epic createEpic(Epic epic) {
+        return write(manager -> VersionedBoard.copy(manager.createEpic(epic)));
+    }
+
+    @Override
+    public Subtask createSubtask(Subtask subtask) {
+        return write(manager -> VersionedBoard.copy(manager.createSubtask(subtask)));
+    }
+
+    @Override
+    public void deleteTasks() {
+        write(manager -> {
+            manager.deleteTasks();
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteSubtasks() {
+        write(manager -> {
+            manager.deleteSubtasks();
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteEpics() {
+        write(manager -> {
+            manager.deleteEpics();
+            return null;
+        });
+    }
+
+    @Override
+    public Task updateTask(int taskId, Task modifiedTask) {
+        return write(manager -> VersionedBoard.copy(manager.updateTask(taskId, modifiedTask)));
+    }
+
+    @Override
+    public Epic updateEpic(int epicId, Epic modifiedEpic) {
+        return write(manager -> VersionedBoard.copy(manager.updateEpic(epicId, modifiedEpic)));
+    }
+
+    @Override
+    public Subtask updateSubtask(int subtaskId, Subtask modifiedSubtask) {
+        return write(manager -> VersionedBoard.copy(manager.updateSubtask(subtaskId, modifiedSubtask)));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Integer taskId) {
+        Optional<Task> task = published.getTask(taskId);
+        task.ifPresent(found -> recordView(manager -> manager.getTaskById(taskId)));
+        return task;
+    }
+
+    @Override
+    public Optional<Epic> getEpicById(Integer epicId) {
+        Optional<Epic> epic = published.getEpic(epicId);
+        epic.ifPresent(found -> recordView(manager -> manager.getEpicById(epicId)));
+        return epic;
+    }
+
+    @Override
+    public Optional<Subtask> getSubtaskById(Integer subtaskId) {
+        Optional<Subtask> subtask = published.getSubtask(subtaskId);
+        subtask.ifPresent(found -> recordView(manager -> manager.getSubtaskById(subtaskId)));
+        return subtask;
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByEpicId(int epicId) {
+        return published.getSubtasksByEpicId(epicId);
+    }
+
+    @Override
+    public Task deleteTask(int taskId) {
+        return write(manager -> VersionedBoard.copy(manager.deleteTask(taskId)));
+    }
+
+    @Override
+    public Epic deleteEpic(int epicId) {
+        return write(manager -> VersionedBoard.copy(manager.deleteEpic(epicId)));
+    }
+
+    @Override
+    public Subtask deleteSubtask(int subtaskId) {
+        return write(manager -> VersionedBoard.copy(manager.deleteSubtask(subtaskId)));
+    }
+
+    @Override
+    public void epicCheckStatus(int epicId) {
+        write(manager -> {
+            manager.epicCheckStatus(epicId);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return published.getPrioritizedTasks();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        List<Task> prioritized = published.prioritizedView();
+        long start = Task.toEpochSecond(from);
+        long end = Task.toEpochSecond(to);
+        if (start != Task.NO_TIME && end != Task.NO_TIME && end < start) {
+            return new ArrayList<>();
+        }
+        int first = start != Task.NO_TIME ? firstStartingAtOrAfter(prioritized, start) : 0;
+        List<Task> window = new ArrayList<>();
+        for (int i = first - 1; i >= 0; i--) {
+            Task previous = prioritized.get(i);
+            if (previous.getStartEpochSecond() != previous.getEndEpochSecond()) {
+                if (previous.getEndEpochSecond() > start) {
+                    window.add(previous);
+                }
+                break;
+            }
+        }
+        for (int i = first; i < prioritized.size(); i++) {
+            Task task = prioritized.get(i);
+            if (task.getStartEpochSecond() == Task.NO_TIME || (end != Task.NO_TIME && task.getStartEpochSecond() >= end)) {
+                break;
+            }
+            window.add(task);
+        }
+        return VersionedBoard.copies(window);
+    }
+
+    @Override
+    public boolean validateTask(Task task) {
+        return read(manager -> manager.validateTask(task));
+    }
+
+    @Override
+    public List<Task> findConflicts(LocalDateTime start, LocalDateTime end) {
+        return read(manager -> VersionedBoard.copies(manager.findConflicts(start, end)));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFreeSlot(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter) {
+        return read(manager -> manager.findFreeSlot(duration, notBefore, notAfter));
+    }
+
+    @Override
+    public ScheduleResult schedule(ScheduleRequest request) {
+        return write(manager -> {
+            ScheduleResult result = manager.schedule(request);
+            return new ScheduleResult(VersionedBoard.copies(result.scheduled()), result.unscheduled(), result.dryRun());
+        });
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return published;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int firstStartingAtOrAfter(List<Task> prioritized, long start) {
+        int low = 0;
+        int high = prioritized.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long middleStart = prioritized.get(middle).getStartEpochSecond();
+            if (middleStart != Task.NO_TIME && middleStart < start) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private <R> R read(Function<TaskManager, R> action) {
+        return await(submit(new Command<>(action, false)));
+    }
+
+    private <R> R write(Function<TaskManager, R> action) {
+        return await(submit(new Command<>(action, true)));
+    }
+
+    private void recordView(Function<TaskManager, ?> action) {
+        Command<?> view = new Command<>(action, false);
+        if (Thread.currentThread() == writer) {
+            view.run(delegate);
+        } else if (running) {
+            commands.offer(view);
+        }
+    }
+
+    private <R> CompletableFuture<R> submit(Command<R> command) {
+        if (Thread.currentThread() == writer) {
+            command.run(delegate);
+            return command.result();
+        }
+        if (!running) {
+            throw new IllegalStateException("Очередь команд остановлена");
+        }
+        try {
+            commands.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Прервано ожидание места в очереди команд", e);
+        }
+        if (!running && commands.remove(command)) {
+            throw new IllegalStateException("Очередь команд остановлена");
+        }
+        return command.result();
+    }
+
+    private static <R> R await(CompletableFuture<R> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Прервано ожидание выполнения команды", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void drain() {
+        List<Command<?>> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !commands.isEmpty()) {
+            try {
+                Command<?> first = commands.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                running = false;
+                continue;
+            }
+            commands.drainTo(batch, MAX_BATCH - 1);
+            boolean mutated = false;
+            for (Command<?> command : batch) {
+                mutated |= command.execute(delegate);
+            }
+            RuntimeException persistFailure = null;
+            if (mutated) {
+                try {
+                    if (delegate instanceof FileBackedTaskManager fileBacked) {
+                        fileBacked.flush();
+                    }
+                } catch (RuntimeException e) {
+                    persistFailure = e;
+                }
+                try {
+                    published = delegate.snapshot();
+                } catch (RuntimeException e) {
+                    if (persistFailure == null) {
+                        persistFailure = e;
+                    }
+                }
+            }
+            for (Command<?> command : batch) {
+                if (persistFailure != null && command.mutating && command.failure == null) {
+                    command.reject(persistFailure);
+                } else {
+                    command.complete();
+                }
+            }
+            batch.clear();
+        }
+        Command<?> leftover;
+        while ((leftover = commands.poll()) != null) {
+            leftover.reject(new IllegalStateException("Очередь команд остановлена"));
+        }
+    }
+
+    private static final class Command<R> {
+        private final Function<TaskManager, R> action;
+        private final boolean mutating;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private R value;
+        private Throwable failure;
+
+        private Command(Function<TaskManager, R> action, boolean mutating) {
+            this.action = action;
+            this.mutating = mutating;
+        }
+
+        private boolean execute(TaskManager manager) {
+            try {
+                value = action.apply(manager);
+            } catch (Throwable e) {
+                failure = e;
+            }
+            return mutating;
+        }
+
+        private void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+
+        private void reject(RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+
+        private void run(TaskManager manager) {
+            execute(manager);
+            complete();
+        }
+
+        private CompletableFuture<R> result() {
+            return result;
+        }
+    }
+}
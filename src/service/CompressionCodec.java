@@ -0,0 +1,145 @@
+package service;
+
+import exceptions.ManagerReadFileException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+final class CompressionCodec {
+    static final int SNAPSHOT_MAGIC = 0x4B4E425A;
+    static final int FRAME_MAGIC = 0x4B4E424A;
+    private static final int FRAME_HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CompressionCodec() {
+    }
+
+    static boolean isCompressed(ByteBuffer buffer) {
+        return buffer.remaining() >= Integer.BYTES && buffer.getInt(buffer.position()) == SNAPSHOT_MAGIC;
+    }
+
+    static void writeMagic(OutputStream out) throws IOException {
+        out.write(ByteBuffer.allocate(Integer.BYTES).putInt(SNAPSHOT_MAGIC).array());
+    }
+
+    static ByteBuffer inflate(ByteBuffer buffer) {
+        Inflater inflater = new Inflater();
+        try {
+            ByteBuffer input = buffer.duplicate();
+            input.position(input.position() + Integer.BYTES);
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(input.remaining() * 4, 64));
+            byte[] chunk = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(chunk);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ManagerReadFileException("Сжатый снимок поврежден или обрезан");
+                }
+                out.write(chunk, 0, inflated);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        } catch (DataFormatException e) {
+            throw new ManagerReadFileException("Сжатый снимок поврежден");
+        } finally {
+            inflater.end();
+        }
+    }
+
+    static byte[] frame(Deflater deflater, List<byte[]> records) {
+        int rawLength = 0;
+        for (byte[] record : records) {
+            rawLength += record.length;
+        }
+        byte[] raw = new byte[rawLength];
+        int offset = 0;
+        for (byte[] record : records) {
+            System.arraycopy(record, 0, raw, offset, record.length);
+            offset += record.length;
+        }
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.max(rawLength / 2, 64));
+        byte[] chunk = new byte[BUFFER_SIZE];
+        while (!deflater.finished()) {
+            body.write(chunk, 0, deflater.deflate(chunk));
+        }
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + body.size());
+        frame.putInt(FRAME_MAGIC).putInt(body.size()).putInt(rawLength);
+        frame.put(body.toByteArray());
+        return frame.array();
+    }
+
+    static List<String> readJournal(byte[] data) {
+        List<String> records = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int position = 0;
+        while (position < data.length) {
+            if (data.length - position >= Integer.BYTES && buffer.getInt(position) == FRAME_MAGIC) {
+                if (data.length - position < FRAME_HEADER_SIZE) {
+                    break;
+                }
+                int compressedLength = buffer.getInt(position + Integer.BYTES);
+                int rawLength = buffer.getInt(position + 2 * Integer.BYTES);
+                int bodyStart = position + FRAME_HEADER_SIZE;
+                if (compressedLength < 0 || data.length - bodyStart < compressedLength) {
+                    break;
+                }
+                addLines(records, inflateFrame(data, bodyStart, compressedLength, rawLength));
+                position = bodyStart + compressedLength;
+            } else {
+                int lineEnd = position;
+                while (lineEnd < data.length && data[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                if (lineEnd == data.length) {
+                    break;
+                }
+                int contentEnd = lineEnd > position && data[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+                records.add(new String(data, position, contentEnd - position, StandardCharsets.UTF_8));
+                position = lineEnd + 1;
+            }
+        }
+        return records;
+    }
+
+    private static String inflateFrame(byte[] data, int offset, int length, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+            byte[] raw = new byte[rawLength];
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                int count = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (count == 0 && inflater.needsInput()) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != rawLength) {
+                throw new ManagerReadFileException("Сжатый блок журнала поврежден");
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new ManagerReadFileException("Сжатый блок журнала поврежден");
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void addLines(List<String> records, String text) {
+        for (String line : text.split("\r?\n")) {
+            if (!line.isEmpty()) {
+                records.add(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package service;
+
+import model.Task;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentHistoryManager implements HistoryManager {
+    private static final int DRAIN_THRESHOLD = 64;
+
+    private final HistoryManager history;
+    private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    public ConcurrentHistoryManager() {
+        this(new InMemoryHistoryManager());
+    }
+
+    public ConcurrentHistoryManager(HistoryManager history) {
+        this.history = history;
+    }
+
+    @Override
+    public void addToHistory(Task task) {
+        record(new Event(task, null));
+    }
+
+    @Override
+    public void removeFromTaskHistory(Integer id) {
+        record(new Event(null, id));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        drainLock.lock();
+        try {
+            drain();
+            return history.getHistory();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void record(Event event) {
+        events.add(event);
+        if (pending.incrementAndGet() >= DRAIN_THRESHOLD && drainLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    private void drain() {
+        int drained = 0;
+        Event event;
+        while ((event = events.poll()) != null) {
+            if (event.task() != null) {
+                history.addToHistory(event.task());
+            } else {
+                history.removeFromTaskHistory(event.removedId());
+            }
+            drained++;
+        }
+        pending.addAndGet(-drained);
+    }
+
+    private record Event(Task task, Integer removedId) {
+    }
+}
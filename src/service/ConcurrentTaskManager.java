@@ -0,0 +1,201 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+public class ConcurrentTaskManager implements TaskManager {
+    private final TaskManager delegate;
+    private final StampedLock lock = new StampedLock();
+
+    public ConcurrentTaskManager(TaskManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Task> getAllTasksInHistoryList() {
+        return read(() -> VersionedBoard.copies(delegate.getAllTasksInHistoryList()));
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return read(() -> VersionedBoard.copies(delegate.getTasks()));
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return read(() -> VersionedBoard.copies(delegate.getSubtasks()));
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return read(() -> VersionedBoard.copies(delegate.getEpics()));
+    }
+
+    @Override
+    public List<Task> getByStatus(TaskType type, TaskStatus status) {
+        return read(() -> VersionedBoard.copies(delegate.getByStatus(type, status)));
+    }
+
+    @Override
+    public List<Task> search(String query, int offset, int limit) {
+        return read(() -> VersionedBoard.copies(delegate.search(query, offset, limit)));
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return write(() -> VersionedBoard.copy(delegate.createTask(task)));
+    }
+
+    @Override
+    public Epic createEpic(Epic epic) {
+        return write(() -> VersionedBoard.copy(delegate.createEpic(epic)));
+    }
+
+    @Override
+    public Subtask createSubtask(Subtask subtask) {
+        return write(() -> VersionedBoard.copy(delegate.createSubtask(subtask)));
+    }
+
+    @Override
+    public void deleteTasks() {
+        write(delegate::deleteTasks);
+    }
+
+    @Override
+    public void deleteSubtasks() {
+        write(delegate::deleteSubtasks);
+    }
+
+    @Override
+    public void deleteEpics() {
+        write(delegate::deleteEpics);
+    }
+
+    @Override
+    public Task updateTask(int taskId, Task modifiedTask) {
+        return write(() -> VersionedBoard.copy(delegate.updateTask(taskId, modifiedTask)));
+    }
+
+    @Override
+    public Epic updateEpic(int epicId, Epic modifiedEpic) {
+        return write(() -> VersionedBoard.copy(delegate.updateEpic(epicId, modifiedEpic)));
+    }
+
+    @Override
+    public Subtask updateSubtask(int subtaskId, Subtask modifiedSubtask) {
+        return write(() -> VersionedBoard.copy(delegate.updateSubtask(subtaskId, modifiedSubtask)));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Integer taskId) {
+        return read(() -> delegate.getTaskById(taskId).map(VersionedBoard::copy));
+    }
+
+    @Override
+    public Optional<Epic> getEpicById(Integer epicId) {
+        return read(() -> delegate.getEpicById(epicId).map(VersionedBoard::copy));
+    }
+
+    @Override
+    public Optional<Subtask> getSubtaskById(Integer subtaskId) {
+        return read(() -> delegate.getSubtaskById(subtaskId).map(VersionedBoard::copy));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByEpicId(int epicId) {
+        return read(() -> VersionedBoard.copies(delegate.getSubtasksByEpicId(epicId)));
+    }
+
+    @Override
+    public Task deleteTask(int taskId) {
+        return write(() -> VersionedBoard.copy(delegate.deleteTask(taskId)));
+    }
+
+    @Override
+    public Epic deleteEpic(int epicId) {
+        return write(() -> VersionedBoard.copy(delegate.deleteEpic(epicId)));
+    }
+
+    @Override
+    public Subtask deleteSubtask(int subtaskId) {
+        return write(() -> VersionedBoard.copy(delegate.deleteSubtask(subtaskId)));
+    }
+
+    @Override
+    public void epicCheckStatus(int epicId) {
+        write(() -> delegate.epicCheckStatus(epicId));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(() -> VersionedBoard.copies(delegate.getPrioritizedTasks()));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return read(() -> VersionedBoard.copies(delegate.getPrioritizedTasks(from, to)));
+    }
+
+    @Override
+    public boolean validateTask(Task task) {
+        return read(() -> delegate.validateTask(task));
+    }
+
+    @Override
+    public List<Task> findConflicts(LocalDateTime start, LocalDateTime end) {
+        return read(() -> VersionedBoard.copies(delegate.findConflicts(start, end)));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFreeSlot(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter) {
+        return read(() -> delegate.findFreeSlot(duration, notBefore, notAfter));
+    }
+
+    @Override
+    public ScheduleResult schedule(ScheduleRequest request) {
+        return write(() -> {
+            ScheduleResult result = delegate.schedule(request);
+            return new ScheduleResult(VersionedBoard.copies(result.scheduled()), result.unscheduled(), result.dryRun());
+        });
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return read(delegate::snapshot);
+    }
+
+    private <R> R read(Supplier<R> action) {
+        long stamp = lock.readLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <R> R write(Supplier<R> action) {
+        long stamp = lock.writeLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package service;
+
+import model.Task;
+
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+final class CsvSnapshotReader {
+    static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final byte NEW_LINE = '\n';
+
+    private CsvSnapshotReader() {
+    }
+
+    static List<Task> read(ByteBuffer buffer) {
+        return read(buffer, DEFAULT_CHUNK_SIZE);
+    }
+
+    static List<Task> read(ByteBuffer buffer, int chunkSize) {
+        int headerEnd = nextLineStart(buffer, 0, buffer.limit());
+        if (headerEnd >= buffer.limit()) {
+            return new ArrayList<>();
+        }
+        return ForkJoinPool.commonPool().invoke(new ChunkTask(buffer, headerEnd, buffer.limit(), chunkSize));
+    }
+
+    private static int nextLineStart(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == NEW_LINE) {
+                return i + 1;
+            }
+        }
+        return to;
+    }
+
+    private static List<Task> parseChunk(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        String chunk = new String(bytes, StandardCharsets.UTF_8);
+        List<Task> tasks = new ArrayList<>();
+        int lineStart = 0;
+        while (lineStart < chunk.length()) {
+            int lineEnd = chunk.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = chunk.length();
+            }
+            int contentEnd = lineEnd > lineStart && chunk.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > lineStart) {
+                tasks.add(CsvTaskCodec.decode(chunk, lineStart, contentEnd));
+            }
+            lineStart = lineEnd + 1;
+        }
+        return tasks;
+    }
+
+    private static class ChunkTask extends RecursiveTask<List<Task>> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient ByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ChunkTask(ByteBuffer buffer, int from, int to, int chunkSize) {
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            if (to - from > chunkSize) {
+                int middle = nextLineStart(buffer, from + (to - from) / 2, to);
+                if (middle < to) {
+                    ChunkTask left = new ChunkTask(buffer, from, middle, chunkSize);
+                    ChunkTask right = new ChunkTask(buffer, middle, to, chunkSize);
+                    right.fork();
+                    List<Task> tasks = left.compute();
+                    tasks.addAll(right.join());
+                    return tasks;
+                }
+            }
+            return parseChunk(buffer, from, to);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package service;
+
+import model.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+final class CsvTaskCodec {
+    private static final int FIELD_COUNT = 8;
+    private static final String NULL = "null";
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final StringBuilder row = new StringBuilder(128);
+    private char[] chars = new char[128];
+
+    void write(Task task, Writer writer) throws IOException {
+        encode(task);
+        int length = row.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        row.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+    }
+
+    CharSequence encode(Task task) {
+        row.setLength(0);
+        row.append(task.getId()).append(',');
+        row.append(task.getTaskType().name()).append(',');
+        appendEscaped(task.getName());
+        row.append(',');
+        row.append(task.getStatus() != null ? task.getStatus().name() : NULL).append(',');
+        appendEscaped(task.getDescription());
+        row.append(',');
+        if (task.getTaskType() == TaskType.SUBTASK) {
+            row.append(((Subtask) task).getEpicId());
+        }
+        row.append(',');
+        row.append(task.getDuration() != null ? task.getDuration().toMinutes() : 0).append(',');
+        appendDateTime(task.getStartTime());
+        return row;
+    }
+
+    static Task decode(CharSequence line) {
+        return decode(line, 0, line.length());
+    }
+
+    static Task decode(CharSequence line, int from, int to) {
+        int[] bounds = new int[FIELD_COUNT + 1];
+        int fields = splitFields(line, from, to, bounds);
+        if (fields < FIELD_COUNT - 1) {
+            throw new IllegalArgumentException("Неправильный формат: " + line.subSequence(from, to));
+        }
+        int id = (int) parseLong(line, bounds[0], bounds[1] - 1);
+        TaskType type = parseEnum(TYPES, line, bounds[1], bounds[2] - 1);
+        String name = unescape(line, bounds[2], bounds[3] - 1);
+        TaskStatus status = isNull(line, bounds[3], bounds[4] - 1) ? null
+                : parseEnum(STATUSES, line, bounds[3], bounds[4] - 1);
+        String description = unescape(line, bounds[4], bounds[5] - 1);
+        int durationEnd = fields > FIELD_COUNT - 1 ? bounds[7] - 1 : to;
+        Duration duration = isNull(line, bounds[6], durationEnd) ? Duration.ZERO
+                : Duration.ofMinutes(parseLong(line, bounds[6], durationEnd));
+        LocalDateTime startTime = fields > FIELD_COUNT - 1 ? parseDateTime(line, bounds[7], to) : null;
+
+        return switch (type) {
+            case TASK -> new Task(id, name, description, status, duration, startTime);
+            case EPIC -> new Epic(id, name, description, status, duration, startTime);
+            case SUBTASK -> new Subtask(id, name, description, status,
+                    (int) parseLong(line, bounds[5], bounds[6] - 1), duration, startTime);
+        };
+    }
+
+    private static int splitFields(CharSequence line, int from, int to, int[] bounds) {
+        int fields = 0;
+        bounds[0] = from;
+        for (int i = from; i < to && fields < FIELD_COUNT - 1; i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ',') {
+                bounds[++fields] = i + 1;
+            }
+        }
+        return fields + 1;
+    }
+
+    private void appendEscaped(String value) {
+        if (value == null) {
+            row.append(NULL);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case ',' -> row.append("\\,");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+    }
+
+    private static String unescape(CharSequence line, int from, int to) {
+        int escape = -1;
+        for (int i = from; i < to; i++) {
+            if (line.charAt(i) == '\\') {
+                escape = i;
+                break;
+            }
+        }
+        if (escape < 0) {
+            return line.subSequence(from, to).toString();
+        }
+        StringBuilder value = new StringBuilder(to - from);
+        value.append(line, from, escape);
+        for (int i = escape; i < to; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < to) {
+                char escaped = line.charAt(++i);
+                value.append(switch (escaped) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+    private void appendDateTime(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            row.append(NULL);
+            return;
+        }
+        int year = dateTime.getYear();
+        if (year < 1000 || year > 9999) {
+            row.append(dateTime);
+            return;
+        }
+        row.append(year).append('-');
+        appendTwoDigits(dateTime.getMonthValue());
+        row.append('-');
+        appendTwoDigits(dateTime.getDayOfMonth());
+        row.append('T');
+        appendTwoDigits(dateTime.getHour());
+        row.append(':');
+        appendTwoDigits(dateTime.getMinute());
+        int second = dateTime.getSecond();
+        int nano = dateTime.getNano();
+        if (second > 0 || nano > 0) {
+            row.append(':');
+            appendTwoDigits(second);
+            if (nano > 0) {
+                row.append('.');
+                if (nano % 1_000_000 == 0) {
+                    appendDigits(nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    appendDigits(nano / 1000, 6);
+                } else {
+                    appendDigits(nano, 9);
+                }
+            }
+        }
+    }
+
+    private void appendTwoDigits(int value) {
+        appendDigits(value, 2);
+    }
+
+    private void appendDigits(int value, int digits) {
+        for (int divisor = (int) Math.pow(10, digits - 1); divisor > 0; divisor /= 10) {
+            row.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static LocalDateTime parseDateTime(CharSequence line, int from, int to) {
+        int length = to - from;
+        if (isNull(line, from, to)) {
+            return null;
+        }
+        if (length < 16 || line.charAt(from + 4) != '-' || line.charAt(from + 10) != 'T') {
+            return LocalDateTime.parse(line.subSequence(from, to));
+        }
+        int year = (int) parseLong(line, from, from + 4);
+        int month = (int) parseLong(line, from + 5, from + 7);
+        int day = (int) parseLong(line, from + 8, from + 10);
+        int hour = (int) parseLong(line, from + 11, from + 13);
+        int minute = (int) parseLong(line, from + 14, from + 16);
+        int second = 0;
+        int nano = 0;
+        if (length >= 19) {
+            second = (int) parseLong(line, from + 17, from + 19);
+        }
+        if (length > 20) {
+            int fractionDigits = to - (from + 20);
+            nano = (int) parseLong(line, from + 20, to);
+            for (int i = fractionDigits; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static long parseLong(CharSequence line, int from, int to) {
+        if (from >= to) {
+            throw new IllegalArgumentException("Пустое числовое поле");
+        }
+        boolean negative = line.charAt(from) == '-';
+        long value = 0;
+        for (int i = negative ? from + 1 : from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Некорректное число: " + line.subSequence(from, to));
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(E[] values, CharSequence line, int from, int to) {
+        for (E value : values) {
+            String name = value.name();
+            if (name.length() == to - from && regionMatches(line, from, name)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестное значение: " + line.subSequence(from, to));
+    }
+
+    private static boolean isNull(CharSequence line, int from, int to) {
+        return to - from == NULL.length() && regionMatches(line, from, NULL);
+    }
+
+    private static boolean regionMatches(CharSequence line, int from, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (line.charAt(from + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,238 @@
+package service;
+
+import model.Task;
+import model.TaskType;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+class DenseIdMap<V> extends AbstractMap<Integer, V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Table table;
+    private final TaskType type;
+    private int size;
+
+    DenseIdMap() {
+        this(new Table(), null);
+    }
+
+    DenseIdMap(Table table, TaskType type) {
+        this.table = table;
+        this.type = type;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key instanceof Integer id && id >= 0 && id < table.slots.length) {
+            return slot(id);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(Integer id, V value) {
+        if (id == null || id < 0) {
+            throw new IllegalArgumentException("Идентификатор должен быть неотрицательным: " + id);
+        }
+        if (value == null) {
+            return remove(id);
+        }
+        if (type != null && ((Task) value).getTaskType() != type) {
+            throw new IllegalArgumentException("Ожидалась задача типа " + type + ": " + value);
+        }
+        table.ensureCapacity(id);
+        Object occupant = table.slots[id];
+        if (occupant != null && slot(id) == null) {
+            throw new IllegalArgumentException("Идентификатор " + id + " занят задачей другого типа");
+        }
+        table.slots[id] = value;
+        if (occupant == null) {
+            size++;
+            table.occupied++;
+            table.modCount++;
+        }
+        return cast(occupant);
+    }
+
+    @Override
+    public V remove(Object key) {
+        V previous = get(key);
+        if (previous != null) {
+            table.slots[(Integer) key] = null;
+            size--;
+            table.occupied--;
+            table.modCount++;
+            table.trim();
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        for (int id = 0; id < table.slots.length; id++) {
+            if (slot(id) != null) {
+                table.slots[id] = null;
+            }
+        }
+        table.occupied -= size;
+        size = 0;
+        table.modCount++;
+        table.trim();
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new SlotIterator<>() {
+                    @Override
+                    Entry<Integer, V> element(int id) {
+                        return new SimpleEntry<>(id, slot(id)) {
+                            @Override
+                            public V setValue(V value) {
+                                super.setValue(value);
+                                return put(id, value);
+                            }
+                        };
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<>() {
+                    @Override
+                    V element(int id) {
+                        return slot(id);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private V slot(int id) {
+        Object value = table.slots[id];
+        if (value == null || (type != null && ((Task) value).getTaskType() != type)) {
+            return null;
+        }
+        return cast(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+
+    static final class Table {
+        private Object[] slots = new Object[INITIAL_CAPACITY];
+        private int occupied;
+        private int modCount;
+
+        int capacity() {
+            return slots.length;
+        }
+
+        private void ensureCapacity(int id) {
+            if (id >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(id + 1, slots.length * 2));
+            }
+        }
+
+        private void trim() {
+            if (slots.length <= INITIAL_CAPACITY || occupied > slots.length / 4) {
+                return;
+            }
+            int highest = slots.length - 1;
+            while (highest >= 0 && slots[highest] == null) {
+                highest--;
+            }
+            int capacity = Math.max(INITIAL_CAPACITY, (highest + 1) * 2);
+            if (capacity < slots.length) {
+                slots = Arrays.copyOf(slots, capacity);
+            }
+        }
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = table.modCount;
+
+        abstract E element(int id);
+
+        private int advance(int from) {
+            while (from < table.slots.length && slot(from) == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < table.slots.length;
+        }
+
+        @Override
+        public E next() {
+            if (table.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return element(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (table.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            DenseIdMap.this.remove(last);
+            expectedModCount = table.modCount;
+            last = -1;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package service;
+
+public enum Durability {
+    WRITE_THROUGH,
+    FSYNC_PER_OPERATION,
+    GROUP_FSYNC,
+    ASYNC
+}
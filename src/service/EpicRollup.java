@@ -0,0 +1,83 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class EpicRollup {
+    private final Map<Integer, Contribution> contributions = new HashMap<>();
+    private final int[] statusCounts = new int[TaskStatus.values().length];
+    private final TreeMap<Long, Integer> startTimes = new TreeMap<>();
+    private final TreeMap<Long, Integer> endTimes = new TreeMap<>();
+    private long durationMinutes;
+
+    void put(Subtask subtask) {
+        remove(subtask.getId());
+        Contribution contribution = new Contribution(subtask.getStatus(), subtask.getStartEpochSecond(),
+                subtask.getEndEpochSecond(), subtask.getDurationSeconds() / 60);
+        contributions.put(subtask.getId(), contribution);
+        if (contribution.status() != null) {
+            statusCounts[contribution.status().ordinal()]++;
+        }
+        if (contribution.startTime() != Task.NO_TIME) {
+            durationMinutes += contribution.minutes();
+            startTimes.merge(contribution.startTime(), 1, Integer::sum);
+            endTimes.merge(contribution.endTime(), 1, Integer::sum);
+        }
+    }
+
+    void remove(int subtaskId) {
+        Contribution contribution = contributions.remove(subtaskId);
+        if (contribution == null) {
+            return;
+        }
+        if (contribution.status() != null) {
+            statusCounts[contribution.status().ordinal()]--;
+        }
+        if (contribution.startTime() != Task.NO_TIME) {
+            durationMinutes -= contribution.minutes();
+            decrement(startTimes, contribution.startTime());
+            decrement(endTimes, contribution.endTime());
+        }
+    }
+
+    void clear() {
+        contributions.clear();
+        Arrays.fill(statusCounts, 0);
+        startTimes.clear();
+        endTimes.clear();
+        durationMinutes = 0;
+    }
+
+    boolean isEmpty() {
+        return contributions.isEmpty();
+    }
+
+    TaskStatus status() {
+        int count = contributions.size();
+        if (statusCounts[TaskStatus.IN_PROGRESS.ordinal()] > 0) return TaskStatus.IN_PROGRESS;
+        if (statusCounts[TaskStatus.DONE.ordinal()] == count) return TaskStatus.DONE;
+        if (statusCounts[TaskStatus.NEW.ordinal()] == count) return TaskStatus.NEW;
+        return TaskStatus.IN_PROGRESS;
+    }
+
+    void applyTime(Epic epic) {
+        epic.setStartTime(startTimes.isEmpty() ? null : Task.toDateTime(startTimes.firstKey()));
+        epic.setEndTime(endTimes.isEmpty() ? null : Task.toDateTime(endTimes.lastKey()));
+        epic.setDuration(Duration.ofMinutes(durationMinutes));
+    }
+
+    private static void decrement(TreeMap<Long, Integer> times, long time) {
+        times.computeIfPresent(time, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private record Contribution(TaskStatus status, long startTime, long endTime, long minutes) {
+    }
+}
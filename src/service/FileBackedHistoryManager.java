@@ -0,0 +1,173 @@
+package service;
+
+import exceptions.ManagerReadFileException;
+import exceptions.ManagerSaveException;
+import model.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+class FileBackedHistoryManager implements HistoryManager, AutoCloseable {
+    private static final int COMPACT_MIN_RECORDS = 1024;
+    private static final int BUFFERED_RECORDS = 64;
+
+    private final HistoryManager delegate;
+    private final Path file;
+    private FileChannel log;
+    private boolean awaitingReplay;
+    private boolean continues;
+    private int recordsInLog;
+    private int nextCompactionAt = COMPACT_MIN_RECORDS;
+    private final StringBuilder buffered = new StringBuilder();
+    private int bufferedRecords;
+
+    FileBackedHistoryManager(HistoryManager delegate, File file, boolean restore) {
+        this.delegate = delegate;
+        this.file = file.toPath();
+        this.awaitingReplay = restore;
+    }
+
+    @Override
+    public synchronized void addToHistory(Task task) {
+        delegate.addToHistory(task);
+        append(task.getId());
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        return delegate.getHistory();
+    }
+
+    @Override
+    public synchronized void removeFromTaskHistory(Integer id) {
+        delegate.removeFromTaskHistory(id);
+        append(-id);
+    }
+
+    synchronized void replay(IntFunction<Optional<Task>> resolver) {
+        Set<Integer> order = new LinkedHashSet<>();
+        if (Files.exists(file)) {
+            List<String> records;
+            try {
+                records = Files.readAllLines(file, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new ManagerReadFileException("Не удалось прочитать файл истории");
+            }
+            for (String record : records) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                int id;
+                try {
+                    id = Integer.parseInt(record.trim());
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                order.remove(Math.abs(id));
+                if (id > 0) {
+                    order.add(id);
+                }
+            }
+            recordsInLog = records.size();
+        }
+        for (int id : order) {
+            resolver.apply(id).ifPresent(delegate::addToHistory);
+        }
+        awaitingReplay = false;
+        continues = true;
+        if (recordsInLog > order.size()) {
+            compact();
+        }
+    }
+
+    synchronized void flush() {
+        try {
+            writeBuffered();
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка записи истории просмотров");
+        }
+    }
+
+    private void append(int record) {
+        if (awaitingReplay) {
+            return;
+        }
+        buffered.append(record).append('\n');
+        bufferedRecords++;
+        recordsInLog++;
+        if (recordsInLog >= nextCompactionAt) {
+            compact();
+        } else if (bufferedRecords >= BUFFERED_RECORDS) {
+            flush();
+        }
+    }
+
+    private void writeBuffered() throws IOException {
+        if (bufferedRecords == 0) {
+            return;
+        }
+        if (log == null) {
+            log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    continues ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+            continues = true;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(buffered.toString().getBytes(StandardCharsets.US_ASCII));
+        while (buffer.hasRemaining()) {
+            log.write(buffer);
+        }
+        buffered.setLength(0);
+        bufferedRecords = 0;
+    }
+
+    private void compact() {
+        Path temp = Path.of(file + ".tmp");
+        StringBuilder content = new StringBuilder();
+        List<Task> history = delegate.getHistory();
+        for (Task task : history) {
+            content.append(task.getId()).append('\n');
+        }
+        buffered.setLength(0);
+        bufferedRecords = 0;
+        try {
+            closeLog();
+            Files.writeString(temp, content, StandardCharsets.US_ASCII);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Не удалось сжать файл истории");
+        }
+        recordsInLog = history.size();
+        continues = true;
+        nextCompactionAt = Math.max(COMPACT_MIN_RECORDS, 2 * recordsInLog);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writeBuffered();
+            closeLog();
+        } catch (IOException e) {
+            throw new ManagerSaveException("Не удалось закрыть файл истории");
+        }
+    }
+
+    private void closeLog() throws IOException {
+        if (log == null) {
+            return;
+        }
+        FileChannel closingLog = log;
+        log = null;
+        closingLog.close();
+    }
+}
@@ -6,22 +6,98 @@ import exceptions.ManagerSaveException;
 import model.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 
-public class FileBackedTaskManager extends InMemoryTaskManager {
+public class FileBackedTaskManager extends InMemoryTaskManager implements AutoCloseable {
+    private static final String CSV_HEADER = "id,type,name,status,description,epicId,duration,startTime";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String CHECKPOINTED_JOURNAL_SUFFIX = ".journal.old";
+    private static final String SNAPSHOT_TEMP_SUFFIX = ".tmp";
+    private static final String HISTORY_SUFFIX = ".history";
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DEL";
+    private static final String CLEAR = "CLR";
+
     private final File file;
+    private final File journalFile;
+    private final File checkpointedJournalFile;
+    private final StorageConfig config;
+    private final FileBackedHistoryManager history;
+    private final CsvTaskCodec journalCodec = new CsvTaskCodec();
+    private volatile JournalWriter journal;
+    private JournalWriter lastJournal;
+    private long lastJournalSequence;
+    private boolean journalContinues;
+    private boolean restoring;
+    private int recordsSinceCheckpoint;
+    private ExecutorService checkpointer;
+    private CompletableFuture<Void> checkpointInProgress = CompletableFuture.completedFuture(null);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ScheduledExecutorService flusher;
+    private long mutationVersion;
+    private volatile boolean dirty;
+    private volatile long dirtySinceNanos;
 
     public FileBackedTaskManager(HistoryManager historyManager, File file) {
-        super(historyManager);
+        this(historyManager, file, StorageMode.SNAPSHOT);
+    }
+
+    public FileBackedTaskManager(HistoryManager historyManager, File file, StorageMode mode) {
+        this(historyManager, file, StorageConfig.of(mode));
+    }
+
+    public FileBackedTaskManager(HistoryManager historyManager, File file, StorageConfig config) {
+        this(file, config, new FileBackedHistoryManager(historyManager, historyFile(file), false));
+    }
+
+    private FileBackedTaskManager(File file, StorageConfig config, FileBackedHistoryManager history) {
+        super(history);
+        this.history = history;
         this.file = file;
+        this.journalFile = new File(file.getPath() + JOURNAL_SUFFIX);
+        this.checkpointedJournalFile = new File(file.getPath() + CHECKPOINTED_JOURNAL_SUFFIX);
+        this.config = config;
         checkFileExist();
     }
 
+    private void startFlusher() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.writeBehindIntervalMillis();
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flushDirtySnapshot();
+            } catch (IOException ignored) {
+                // остаёмся «грязными», следующий запуск повторит запись
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static File historyFile(File file) {
+        return new File(file.getPath() + HISTORY_SUFFIX);
+    }
+
     private void checkFileExist() {
         if (!file.exists()) {
             try {
@@ -34,158 +110,534 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     public static Task parseFromString(String value) {
-        String[] parts = value.split(",");
-        if (parts.length < 7) {
-            throw new IllegalArgumentException("Неправильный формат: " + value);
+        return CsvTaskCodec.decode(value);
+    }
+
+    private void saveSnapshot() {
+        BoardSnapshot board = snapshot();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+            writeSnapshot(out, board, generatorId);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка при сохранении в файл");
+        }
+    }
+
+    private void writeSnapshot(OutputStream out, BoardSnapshot board, int generatorId) throws IOException {
+        if (!config.compressed()) {
+            writeSnapshotContent(out, board, generatorId);
+            return;
+        }
+        CompressionCodec.writeMagic(out);
+        Deflater deflater = new Deflater();
+        try {
+            DeflaterOutputStream compressed = new DeflaterOutputStream(out, deflater, 64 * 1024);
+            writeSnapshotContent(compressed, board, generatorId);
+            compressed.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeSnapshotContent(OutputStream out, BoardSnapshot board, int generatorId) throws IOException {
+        if (config.snapshotFormat() == SnapshotFormat.BINARY) {
+            BinarySnapshotCodec.write(out, generatorId, board.getTasks(), board.getEpics(), board.getSubtasks());
+            return;
+        }
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvTaskCodec codec = new CsvTaskCodec();
+        writer.write(CSV_HEADER);
+        writer.newLine();
+        writeRows(writer, codec, board.getTasks());
+        writeRows(writer, codec, board.getEpics());
+        writeRows(writer, codec, board.getSubtasks());
+        writer.flush();
+    }
+
+    private void writeRows(BufferedWriter writer, CsvTaskCodec codec, Iterable<? extends Task> rows)
+            throws IOException {
+        for (Task task : rows) {
+            codec.write(task, writer);
+            writer.newLine();
         }
-        Integer idTask = Integer.parseInt(parts[0]);
-        TaskType type = TaskType.valueOf(parts[1]);
-        String nameTask = parts[2];
-        TaskStatus statusTask = TaskStatus.valueOf(parts[3]);
-        String descriptionTask = parts[4];
-        Duration duration = parts[6].equals("null") ? Duration.ZERO : Duration.ofMinutes(Long.parseLong(parts[6]));
-        LocalDateTime startTime = parts[7].equals("null") ? null : LocalDateTime.parse(parts[7]);
+    }
 
-        switch (type) {
-            case TASK -> {
-                return new Task(idTask, nameTask, descriptionTask, statusTask, duration, startTime);
+    public static FileBackedTaskManager loadFromFile(File file) {
+        return loadFromFile(file, StorageMode.SNAPSHOT);
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file, StorageMode mode) {
+        return loadFromFile(file, StorageConfig.of(mode));
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file, StorageConfig config) {
+        FileBackedHistoryManager history = new FileBackedHistoryManager(Managers.getDefaultHistory(),
+                historyFile(file), true);
+        FileBackedTaskManager manager = new FileBackedTaskManager(file, config, history);
+        manager.restoring = true;
+        try {
+            manager.restoreAll(manager.readSnapshot());
+            boolean hasCheckpointedJournal = manager.checkpointedJournalFile.exists();
+            boolean hasJournal = manager.journalFile.exists();
+            if (hasCheckpointedJournal) {
+                manager.replayJournal(manager.checkpointedJournalFile);
             }
-            case EPIC -> {
-                return new Epic(idTask, nameTask, descriptionTask, statusTask, duration, startTime);
+            if (hasJournal) {
+                manager.replayJournal(manager.journalFile);
             }
-            case SUBTASK -> {
-                int epicId = Integer.parseInt(parts[5]);
-                return new Subtask(idTask, nameTask, descriptionTask, statusTask, epicId, duration, startTime);
+            if (hasCheckpointedJournal || hasJournal) {
+                manager.checkRestoredOverlaps();
             }
-            default -> throw new IllegalArgumentException("Неизвестный тип задачи: " + type);
+            manager.restoring = false;
+            history.replay(manager::findForHistory);
+            if (config.mode() == StorageMode.JOURNAL) {
+                manager.journalContinues = true;
+            } else if (hasJournal || hasCheckpointedJournal) {
+                manager.saveSnapshot();
+                Files.deleteIfExists(manager.checkpointedJournalFile.toPath());
+                Files.deleteIfExists(manager.journalFile.toPath());
+            }
+        } catch (IOException e) {
+            throw new ManagerReadFileException("Не удалось найти файл по указанному пути");
+        }
+        return manager;
+    }
+
+    private List<Task> readSnapshot() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (CompressionCodec.isCompressed(buffer)) {
+                buffer = CompressionCodec.inflate(buffer);
+            }
+            if (BinarySnapshotCodec.isBinary(buffer)) {
+                BinarySnapshotCodec.Contents contents = BinarySnapshotCodec.read(buffer);
+                generatorId = Math.max(generatorId, contents.generatorId());
+                return contents.tasks();
+            }
+            return CsvSnapshotReader.read(buffer);
         }
     }
 
-    private void saveToFileCsv() {
-        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
-            writer.write("id,type,name,status,description,epicId,duration,startTime" + System.lineSeparator());
-            getTasks().stream().map(this::taskToString).forEach(task -> writeLine(writer, task));
-            getEpics().stream().map(this::taskToString).forEach(task -> writeLine(writer, task));
-            getSubtasks().stream().map(this::taskToString).forEach(task -> writeLine(writer, task));
+    private void replayJournal(File journalFile) throws IOException {
+        List<String> records = CompressionCodec.readJournal(Files.readAllBytes(journalFile.toPath()));
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                applyRecord(records.get(i));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+                if (i < records.size() - 1) {
+                    throw new ManagerReadFileException("Повреждена запись журнала: " + records.get(i));
+                }
+            }
+        }
+    }
+
+    private void applyRecord(String record) {
+        int separator = record.indexOf(',');
+        String operation = record.substring(0, separator);
+        String payload = record.substring(separator + 1);
+        switch (operation) {
+            case PUT -> restoreTask(parseFromString(payload));
+            case DELETE -> {
+                String[] parts = payload.split(",");
+                restoreRemove(TaskType.valueOf(parts[0]), Integer.parseInt(parts[1]));
+            }
+            case CLEAR -> {
+                switch (TaskType.valueOf(payload)) {
+                    case TASK -> deleteTasks();
+                    case EPIC -> deleteEpics();
+                    case SUBTASK -> deleteSubtasks();
+                }
+            }
+            default -> throw new IllegalArgumentException("Неизвестная операция журнала: " + operation);
+        }
+    }
+
+    private void savePut(Task task) {
+        save(() -> PUT + "," + journalCodec.encode(task));
+    }
+
+    private void saveDelete(TaskType type, int id) {
+        save(() -> DELETE + "," + type + "," + id);
+    }
+
+    private void saveClear(TaskType type) {
+        save(() -> CLEAR + "," + type);
+    }
+
+    private void save(Supplier<String> record) {
+        if (restoring) {
+            return;
+        }
+        switch (config.mode()) {
+            case SNAPSHOT -> saveSnapshot();
+            case JOURNAL -> appendToJournal(record.get());
+            case WRITE_BEHIND -> markDirty();
+        }
+    }
+
+    private void markDirty() {
+        if (flusher == null) {
+            startFlusher();
+        }
+        mutationVersion++;
+        if (!dirty) {
+            dirtySinceNanos = System.nanoTime();
+            dirty = true;
+        }
+    }
+
+    private void flushDirtySnapshot() throws IOException {
+        flushLock.lock();
+        try {
+            BoardSnapshot board;
+            int lastId;
+            long version;
+            long captureStartedNanos;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                version = mutationVersion;
+                captureStartedNanos = System.nanoTime();
+                board = snapshot();
+                lastId = generatorId;
+            }
+            writeSnapshotFile(captureSnapshot(board, lastId));
+            synchronized (this) {
+                if (mutationVersion == version) {
+                    dirty = false;
+                } else {
+                    dirtySinceNanos = captureStartedNanos;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flush() {
+        history.flush();
+        try {
+            switch (config.mode()) {
+                case SNAPSHOT -> {
+                }
+                case JOURNAL -> {
+                    synchronized (this) {
+                        if (journal != null) {
+                            journal.flush();
+                        }
+                    }
+                }
+                case WRITE_BEHIND -> flushDirtySnapshot();
+            }
         } catch (IOException e) {
             throw new ManagerSaveException("Ошибка при сохранении в файл");
         }
     }
 
-    private void writeLine(BufferedWriter writer, String line) {
+    synchronized long journalCommits() {
+        return journal != null ? journal.commits() : 0;
+    }
+
+    public long getPersistenceLagMillis() {
+        if (!dirty) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, System.nanoTime() - dirtySinceNanos));
+    }
+
+    private void appendToJournal(String record) {
         try {
-            writer.write(line);
-            writer.newLine();
+            if (journal == null) {
+                openJournal();
+            }
+            lastJournal = journal;
+            lastJournalSequence = journal.enqueue((record + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
         } catch (IOException e) {
-            throw new ManagerSaveException("Ошибка записи строки в файл");
+            throw new ManagerSaveException("Ошибка записи в журнал");
+        }
+        int checkpointEvery = config.checkpointEveryRecords();
+        if (checkpointEvery > 0 && ++recordsSinceCheckpoint >= checkpointEvery && checkpointInProgress.isDone()) {
+            checkpoint();
         }
     }
 
-    private String taskToString(Task task) {
-        return String.format("%d,%s,%s,%s,%s,%s,%d,%s", task.getId(), task.getTaskType(), task.getName(), task.getStatus(), task.getDescription(), task.getTaskType().equals(TaskType.SUBTASK) ? ((Subtask) task).getEpicId() : "", task.getDuration() != null ? task.getDuration().toMinutes() : 0, task.getStartTime() != null ? task.getStartTime() : "null");
+    public CompletableFuture<Void> checkpoint() {
+        if (config.mode() == StorageMode.WRITE_BEHIND) {
+            flush();
+            return CompletableFuture.completedFuture(null);
+        }
+        if (config.mode() != StorageMode.JOURNAL) {
+            synchronized (this) {
+                saveSnapshot();
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> previous;
+        synchronized (this) {
+            previous = checkpointInProgress;
+        }
+        previous.exceptionally(e -> null).join();
+        return rotateJournal();
     }
 
-    public static FileBackedTaskManager loadFromFile(File file) {
-        FileBackedTaskManager manager = new FileBackedTaskManager(Managers.getDefaultHistory(), file);
-        int maxId = 0;
+    private synchronized CompletableFuture<Void> rotateJournal() {
+        checkpointInProgress.exceptionally(e -> null).join();
+        BoardSnapshot board = snapshot();
+        int lastId = generatorId;
+        recordsSinceCheckpoint = 0;
+        if (checkpointedJournalFile.exists()) {
+            try {
+                closeJournal();
+                writeSnapshotFile(captureSnapshot(board, lastId));
+                Files.delete(checkpointedJournalFile.toPath());
+                Files.deleteIfExists(journalFile.toPath());
+            } catch (IOException e) {
+                throw new ManagerSaveException("Ошибка при создании снимка");
+            }
+            return checkpointInProgress;
+        }
         try {
-            List<String> lines = Files.readAllLines(file.toPath());
-            for (int i = 1; i < lines.size(); i++) {
-                String line = lines.get(i);
-                Task task = parseFromString(line);
-                maxId = Math.max(maxId, task.getId());
-                if (TaskType.TASK.equals(task.getTaskType())) {
-                    manager.createTask(task);
-                } else if (TaskType.EPIC.equals(task.getTaskType())) {
-                    manager.createEpic((Epic) task);
-                } else manager.createSubtask((Subtask) task);
+            closeJournal();
+            if (journalFile.exists()) {
+                Files.move(journalFile.toPath(), checkpointedJournalFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
             }
         } catch (IOException e) {
-            throw new ManagerReadFileException("Не удалось найти файл по указанному пути");
+            throw new ManagerSaveException("Не удалось переключить журнал");
         }
-        manager.generatorId = maxId;
-        return manager;
+        if (checkpointer == null) {
+            checkpointer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "snapshot-checkpointer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        checkpointInProgress = CompletableFuture.runAsync(() -> {
+            try {
+                writeSnapshotFile(captureSnapshot(board, lastId));
+                Files.deleteIfExists(checkpointedJournalFile.toPath());
+            } catch (IOException e) {
+                throw new ManagerSaveException("Ошибка при создании снимка");
+            }
+        }, checkpointer);
+        return checkpointInProgress;
+    }
+
+    private byte[] captureSnapshot(BoardSnapshot board, int generatorId) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeSnapshot(out, board, generatorId);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка при создании снимка");
+        }
+        return out.toByteArray();
+    }
+
+    private void writeSnapshotFile(byte[] snapshot) throws IOException {
+        Path temp = Path.of(file.getPath() + SNAPSHOT_TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 
+    private void openJournal() throws IOException {
+        if (!journalContinues) {
+            saveSnapshot();
+        }
+        journal = new JournalWriter(journalFile.toPath(), journalContinues, config);
+        journalContinues = true;
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService stopping;
+        synchronized (this) {
+            stopping = flusher;
+            flusher = null;
+        }
+        if (stopping != null) {
+            stopping.shutdown();
+            try {
+                stopping.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flush();
+        }
+        if (checkpointer != null) {
+            checkpointInProgress.exceptionally(e -> null).join();
+            checkpointer.shutdown();
+            checkpointer = null;
+        }
+        synchronized (this) {
+            try {
+                closeJournal();
+            } catch (IOException e) {
+                throw new ManagerSaveException("Не удалось закрыть журнал");
+            }
+        }
+        history.close();
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        JournalWriter closingJournal = journal;
+        journal = null;
+        closingJournal.close();
+    }
 
     @Override
     public Task createTask(Task task) {
-        Task createdTask = super.createTask(task);
-        saveToFileCsv();
-        return createdTask;
+        return mutate(() -> {
+            Task createdTask = super.createTask(task);
+            savePut(tasks.get(createdTask.getId()));
+            return createdTask;
+        });
     }
 
     @Override
     public Epic createEpic(Epic epic) {
-        Epic createdEpic = super.createEpic(epic);
-        saveToFileCsv();
-        return createdEpic;
+        return mutate(() -> {
+            Epic createdEpic = super.createEpic(epic);
+            savePut(epics.get(createdEpic.getId()));
+            return createdEpic;
+        });
     }
 
     @Override
     public Subtask createSubtask(Subtask subtask) {
-        Subtask createdSubtask = super.createSubtask(subtask);
-        saveToFileCsv();
-        return createdSubtask;
+        return mutate(() -> {
+            Subtask createdSubtask = super.createSubtask(subtask);
+            savePut(subtasks.get(createdSubtask.getId()));
+            return createdSubtask;
+        });
     }
 
     @Override
     public void deleteTasks() {
-        super.deleteTasks();
-        saveToFileCsv();
+        mutate(() -> {
+            super.deleteTasks();
+            saveClear(TaskType.TASK);
+            return null;
+        });
     }
 
     @Override
     public void deleteSubtasks() {
-        super.deleteSubtasks();
-        saveToFileCsv();
+        mutate(() -> {
+            super.deleteSubtasks();
+            saveClear(TaskType.SUBTASK);
+            return null;
+        });
     }
 
     @Override
     public void deleteEpics() {
-        super.deleteEpics();
-        saveToFileCsv();
+        mutate(() -> {
+            super.deleteEpics();
+            saveClear(TaskType.EPIC);
+            return null;
+        });
     }
 
     @Override
     public Task updateTask(int taskId, Task modifiedTask) {
-        Task updatedTask = super.updateTask(taskId, modifiedTask);
-        saveToFileCsv();
-        return updatedTask;
+        return mutate(() -> {
+            Task updatedTask = super.updateTask(taskId, modifiedTask);
+            savePut(updatedTask);
+            return updatedTask;
+        });
     }
 
     @Override
     public Epic updateEpic(int epicId, Epic modifiedEpic) {
-        Epic updatedEpic = super.updateEpic(epicId, modifiedEpic);
-        saveToFileCsv();
-        return updatedEpic;
+        return mutate(() -> {
+            Epic updatedEpic = super.updateEpic(epicId, modifiedEpic);
+            savePut(updatedEpic);
+            return updatedEpic;
+        });
     }
 
     @Override
     public Subtask updateSubtask(int subtaskId, Subtask modifiedSubtask) {
-        Subtask updatedSubtask = super.updateSubtask(subtaskId, modifiedSubtask);
-        saveToFileCsv();
-        return updatedSubtask;
+        return mutate(() -> {
+            Subtask updatedSubtask = super.updateSubtask(subtaskId, modifiedSubtask);
+            savePut(updatedSubtask);
+            return updatedSubtask;
+        });
+    }
+
+    @Override
+    public ScheduleResult schedule(ScheduleRequest request) {
+        return mutate(() -> {
+            ScheduleResult result = super.schedule(request);
+            if (request.dryRun() || result.scheduled().isEmpty()) {
+                return result;
+            }
+            if (config.mode() == StorageMode.SNAPSHOT) {
+                saveSnapshot();
+            } else {
+                result.scheduled().forEach(this::savePut);
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public synchronized BoardSnapshot snapshot() {
+        return super.snapshot();
     }
 
     @Override
     public Task deleteTask(int taskId) {
-        Task deletedTask = super.deleteTask(taskId);
-        saveToFileCsv();
-        return deletedTask;
+        return mutate(() -> {
+            Task deletedTask = super.deleteTask(taskId);
+            saveDelete(TaskType.TASK, taskId);
+            return deletedTask;
+        });
     }
 
     @Override
     public Epic deleteEpic(int epicId) {
-        Epic deletedEpic = super.deleteEpic(epicId);
-        saveToFileCsv();
-        return deletedEpic;
+        return mutate(() -> {
+            Epic deletedEpic = super.deleteEpic(epicId);
+            saveDelete(TaskType.EPIC, epicId);
+            return deletedEpic;
+        });
     }
 
     @Override
     public Subtask deleteSubtask(int subtaskId) {
-        Subtask deletedSubtask = super.deleteSubtask(subtaskId);
-        saveToFileCsv();
-        return deletedSubtask;
+        return mutate(() -> {
+            Subtask deletedSubtask = super.deleteSubtask(subtaskId);
+            saveDelete(TaskType.SUBTASK, subtaskId);
+            return deletedSubtask;
+        });
+    }
+
+    private <R> R mutate(Supplier<R> mutation) {
+        R result;
+        JournalWriter writer;
+        long sequence;
+        synchronized (this) {
+            result = mutation.get();
+            writer = lastJournal;
+            sequence = lastJournalSequence;
+        }
+        if (writer != null && !Thread.holdsLock(this)) {
+            try {
+                writer.awaitDurable(sequence);
+            } catch (IOException e) {
+                throw new ManagerSaveException("Ошибка записи в журнал");
+            }
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
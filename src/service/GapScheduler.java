@@ -0,0 +1,124 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+final class GapScheduler {
+    private final long notBefore;
+    private final long notAfter;
+    private long cursor;
+    private long[] gapStarts = new long[16];
+    private long[] gapEnds = new long[16];
+    private int gapCount;
+    private long[] tree;
+    private int leaves;
+
+    GapScheduler(LocalDateTime notBefore, LocalDateTime notAfter) {
+        this.notBefore = Task.toEpochSecond(notBefore);
+        this.notAfter = notAfter != null ? Task.toEpochSecond(notAfter) : Long.MAX_VALUE;
+        this.cursor = this.notBefore;
+    }
+
+    void busy(long start, long end) {
+        if (start > cursor) {
+            addGap(cursor, Math.min(start, notAfter));
+        }
+        cursor = Math.max(cursor, start == end ? start : end);
+    }
+
+    ScheduleResult schedule(List<Task> candidates, ScheduleRequest request) {
+        addGap(cursor, notAfter);
+        buildTree();
+        List<Task> ordered = new ArrayList<>(candidates);
+        if (request.strategy() == SchedulingStrategy.EARLIEST_DEADLINE) {
+            ordered.sort(Comparator.comparingLong((Task task) -> deadlineOf(task, request.deadlines())));
+        }
+        List<Task> scheduled = new ArrayList<>();
+        List<Integer> unscheduled = new ArrayList<>();
+        for (Task task : ordered) {
+            long start = task.getDuration() != null
+                    ? place(task.getDurationSeconds(), deadlineOf(task, request.deadlines()))
+                    : Task.NO_TIME;
+            if (start == Task.NO_TIME) {
+                unscheduled.add(task.getId());
+            } else {
+                scheduled.add(withStart(task, Task.toDateTime(start)));
+            }
+        }
+        return new ScheduleResult(scheduled, unscheduled, request.dryRun());
+    }
+
+    private void addGap(long start, long end) {
+        if (start >= end || start >= notAfter) {
+            return;
+        }
+        if (gapCount == gapStarts.length) {
+            gapStarts = Arrays.copyOf(gapStarts, gapCount * 2);
+            gapEnds = Arrays.copyOf(gapEnds, gapCount * 2);
+        }
+        gapStarts[gapCount] = start;
+        gapEnds[gapCount] = end;
+        gapCount++;
+    }
+
+    private void buildTree() {
+        leaves = Integer.highestOneBit(Math.max(gapCount, 1) * 2 - 1);
+        tree = new long[leaves * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < gapCount; i++) {
+            tree[leaves + i] = length(i);
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = Math.max(tree[node * 2], tree[node * 2 + 1]);
+        }
+    }
+
+    private long place(long duration, long deadline) {
+        if (tree[1] < duration) {
+            return Task.NO_TIME;
+        }
+        int node = 1;
+        while (node < leaves) {
+            node = tree[node * 2] >= duration ? node * 2 : node * 2 + 1;
+        }
+        int gap = node - leaves;
+        long start = gapStarts[gap];
+        if (start + duration > deadline) {
+            return Task.NO_TIME;
+        }
+        gapStarts[gap] = start + duration;
+        tree[node] = length(gap);
+        for (node /= 2; node > 0; node /= 2) {
+            tree[node] = Math.max(tree[node * 2], tree[node * 2 + 1]);
+        }
+        return start;
+    }
+
+    private long length(int gap) {
+        return gapEnds[gap] == Long.MAX_VALUE ? Long.MAX_VALUE : gapEnds[gap] - gapStarts[gap];
+    }
+
+    private static long deadlineOf(Task task, Map<Integer, LocalDateTime> deadlines) {
+        LocalDateTime deadline = deadlines.get(task.getId());
+        return deadline != null ? Task.toEpochSecond(deadline) : Long.MAX_VALUE;
+    }
+
+    private static Task withStart(Task task, LocalDateTime startTime) {
+        TaskStatus status = task.getStatus();
+        return switch (task.getTaskType()) {
+            case TASK -> new Task(task.getId(), task.getName(), task.getDescription(), status, task.getDuration(), startTime);
+            case SUBTASK -> new Subtask(task.getId(), task.getName(), task.getDescription(), status,
+                    ((Subtask) task).getEpicId(), task.getDuration(), startTime);
+            case EPIC -> new Epic(task.getId(), task.getName(), task.getDescription(), status, task.getDuration(), startTime);
+        };
+    }
+}
@@ -62,7 +62,7 @@ public class InMemoryHistoryManager implements HistoryManager {
 
     @Override
     public void removeFromTaskHistory(Integer id) {
-        Node node = historyMap.get(id);
+        Node node = historyMap.remove(id);
         removeNode(node);
     }
 
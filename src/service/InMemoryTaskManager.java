@@ -12,16 +12,26 @@ public class InMemoryTaskManager implements TaskManager {
 
     protected int generatorId = 0;
 
-    protected Map<Integer, Task> tasks = new HashMap<>();
-    protected Map<Integer, Epic> epics = new HashMap<>();
-    protected Map<Integer, Subtask> subtasks = new HashMap<>();
-    private final Set<Task> prioritizedTasks = new TreeSet<>(
-            Comparator.comparing(Task::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
-    );
+    protected Map<Integer, Task> tasks;
+    protected Map<Integer, Epic> epics;
+    protected Map<Integer, Subtask> subtasks;
+    private final NavigableSet<Task> prioritizedTasks = new TreeSet<>(InMemoryTaskManager::compareByStartTime);
     private final HistoryManager historyManager;
+    private final Map<Integer, EpicRollup> epicRollups = new HashMap<>();
+    private final StatusIndex statusIndex = new StatusIndex();
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final VersionedBoard board = new VersionedBoard();
 
     public InMemoryTaskManager(HistoryManager historyManager) {
+        this(historyManager, TaskStoreType.HASH_MAP);
+    }
+
+    public InMemoryTaskManager(HistoryManager historyManager, TaskStoreType storeType) {
         this.historyManager = historyManager;
+        DenseIdMap.Table table = new DenseIdMap.Table();
+        this.tasks = storeType.newMap(TaskType.TASK, table);
+        this.epics = storeType.newMap(TaskType.EPIC, table);
+        this.subtasks = storeType.newMap(TaskType.SUBTASK, table);
     }
 
 
@@ -31,41 +41,89 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Optional<Task> getTaskById(Integer taskId) {
-        if (tasks.containsKey(taskId)) {
-            Task task = tasks.get(taskId);
-            Task taskForHistory = new Task(task.getId(), task.getName(), task.getDescription(), task.getStatus(), task.getDuration(), task.getStartTime());
-            historyManager.addToHistory(taskForHistory);
-            return Optional.of(task);
+        Task task = tasks.get(taskId);
+        if (task == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        historyManager.addToHistory(copyForHistory(task));
+        return Optional.of(task);
     }
 
     @Override
     public Optional<Epic> getEpicById(Integer epicId) {
-        if (epics.containsKey(epicId)) {
-            Epic epic = epics.get(epicId);
-            Epic taskForHistory = new Epic(epic.getId(), epic.getName(), epic.getDescription(), epic.getStatus(), epic.getDuration(), epic.getStartTime());
-            historyManager.addToHistory(taskForHistory);
-            return Optional.of(epic);
+        Epic epic = epics.get(epicId);
+        if (epic == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        historyManager.addToHistory(copyForHistory(epic));
+        return Optional.of(epic);
     }
 
     @Override
     public Optional<Subtask> getSubtaskById(Integer subtaskId) {
-        if (subtasks.containsKey(subtaskId)) {
-            Subtask subtask = subtasks.get(subtaskId);
-            Subtask taskForHistory = new Subtask(subtask.getId(), subtask.getName(), subtask.getDescription(), subtask.getStatus(), subtask.getEpicId(), subtask.getDuration(), subtask.getStartTime());
-            historyManager.addToHistory(taskForHistory);
-            return Optional.of(subtask);
+        Subtask subtask = subtasks.get(subtaskId);
+        if (subtask == null) {
+            return Optional.empty();
+        }
+        historyManager.addToHistory(copyForHistory(subtask));
+        return Optional.of(subtask);
+    }
+
+    protected Optional<Task> findForHistory(int id) {
+        return Optional.ofNullable(find(id)).map(InMemoryTaskManager::copyForHistory);
+    }
+
+    private Task find(int id) {
+        Task task = tasks.get(id);
+        if (task == null) {
+            task = epics.get(id);
         }
-        return Optional.empty();
+        return task != null ? task : subtasks.get(id);
+    }
+
+    private static Task copyForHistory(Task task) {
+        return switch (task.getTaskType()) {
+            case TASK -> new Task(task.getId(), task.getName(), task.getDescription(), task.getStatus(), task.getDuration(), task.getStartTime());
+            case EPIC -> new Epic(task.getId(), task.getName(), task.getDescription(), task.getStatus(), task.getDuration(), task.getStartTime());
+            case SUBTASK -> new Subtask(task.getId(), task.getName(), task.getDescription(), task.getStatus(), ((Subtask) task).getEpicId(), task.getDuration(), task.getStartTime());
+        };
     }
 
     public List<Task> getPrioritizedTasks() {
         return List.copyOf(prioritizedTasks);
     }
 
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        long start = Task.toEpochSecond(from);
+        long end = Task.toEpochSecond(to);
+        List<Task> window = new ArrayList<>();
+        if (start != Task.NO_TIME && end != Task.NO_TIME && end < start) {
+            return window;
+        }
+        NavigableSet<Task> tail = prioritizedTasks;
+        if (start != Task.NO_TIME) {
+            Task head = probe(start, Integer.MIN_VALUE);
+            for (Task candidate : prioritizedTasks.headSet(head, false).descendingSet()) {
+                if (candidate.getStartEpochSecond() == candidate.getEndEpochSecond()) {
+                    continue;
+                }
+                if (candidate.getEndEpochSecond() > start) {
+                    window.add(candidate);
+                }
+                break;
+            }
+            tail = prioritizedTasks.tailSet(head, true);
+        }
+        for (Task task : end != Task.NO_TIME ? tail.headSet(probe(end, Integer.MIN_VALUE), false) : tail) {
+            if (task.getStartEpochSecond() == Task.NO_TIME) {
+                break;
+            }
+            window.add(task);
+        }
+        return window;
+    }
+
     @Override
     public List<Task> getTasks() {
         return new ArrayList<>(tasks.values());
@@ -81,6 +139,36 @@ public class InMemoryTaskManager implements TaskManager {
         return new ArrayList<>(epics.values());
     }
 
+    @Override
+    public List<Task> getByStatus(TaskType type, TaskStatus status) {
+        Map<Integer, ? extends Task> source = switch (type) {
+            case TASK -> tasks;
+            case EPIC -> epics;
+            case SUBTASK -> subtasks;
+        };
+        List<Task> result = new ArrayList<>();
+        BitSet ids = statusIndex.ids(type, status);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            Task task = source.get(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> search(String query, int offset, int limit) {
+        List<Task> result = new ArrayList<>();
+        for (int id : searchIndex.search(query, offset, limit)) {
+            Task task = find(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
     @Override
     public Task createTask(Task task) {
         int id = ++generatorId;
@@ -90,7 +178,8 @@ public class InMemoryTaskManager implements TaskManager {
         }
         task.setId(id);
         tasks.put(createdTask.getId(), createdTask);
-        if (createdTask.getStartTime() != null) {
+        index(createdTask);
+        if (createdTask.getStartEpochSecond() != Task.NO_TIME) {
             prioritizedTasks.add(createdTask);
         }
         return task;
@@ -103,6 +192,7 @@ public class InMemoryTaskManager implements TaskManager {
         updateEpicTime(createdEpic);
         epic.setId(id);
         epics.put(createdEpic.getId(), createdEpic);
+        index(createdEpic);
         return epic;
     }
 
@@ -115,12 +205,11 @@ public class InMemoryTaskManager implements TaskManager {
             throw new InvalidTaskTimeException("Задача с id=" + createdSubtask.getId() + " пересекается с другими задачами.");
         }
         Epic epic = epics.get(epicId);
-        epic.addSubtaskId(id);
         subtask.setId(id);
         subtasks.put(createdSubtask.getId(), createdSubtask);
-        updateEpicTime(epic);
-        epicCheckStatus(epicId);
-        if (createdSubtask.getStartTime() != null) {
+        index(createdSubtask);
+        attachSubtask(epic, createdSubtask);
+        if (createdSubtask.getStartEpochSecond() != Task.NO_TIME) {
             prioritizedTasks.add(createdSubtask);
         }
         return subtask;
@@ -130,7 +219,10 @@ public class InMemoryTaskManager implements TaskManager {
     public void deleteTasks() {
         removeTasksFromHistory();
         tasks.values().forEach(prioritizedTasks::remove);
+        tasks.keySet().forEach(searchIndex::remove);
         tasks.clear();
+        statusIndex.clear(TaskType.TASK);
+        board.clear(TaskType.TASK);
     }
 
 
@@ -139,12 +231,17 @@ public class InMemoryTaskManager implements TaskManager {
         clearSubtaskIds();
         subtasks.values().forEach(prioritizedTasks::remove);
         removeSubtasksFromHistory();
+        subtasks.keySet().forEach(searchIndex::remove);
         subtasks.clear();
+        statusIndex.clear(TaskType.SUBTASK);
+        board.clear(TaskType.SUBTASK);
+        epicRollups.values().forEach(EpicRollup::clear);
         epics.values().forEach(epic -> {
             epicCheckStatus(epic.getId());
             epic.setStartTime(null);
             epic.setEndTime(null);
             epic.setDuration(Duration.ofMinutes(0));
+            board.put(epic);
         });
     }
 
@@ -157,8 +254,15 @@ public class InMemoryTaskManager implements TaskManager {
         removeSubtasksFromSortedList();
         removeEpicsFromHistory();
         removeSubtasksFromHistory();
+        epics.keySet().forEach(searchIndex::remove);
+        subtasks.keySet().forEach(searchIndex::remove);
         epics.clear();
         subtasks.clear();
+        statusIndex.clear(TaskType.EPIC);
+        statusIndex.clear(TaskType.SUBTASK);
+        board.clear(TaskType.EPIC);
+        board.clear(TaskType.SUBTASK);
+        epicRollups.clear();
     }
 
     private void removeSubtasksFromSortedList() {
@@ -175,14 +279,21 @@ public class InMemoryTaskManager implements TaskManager {
         oldTask.ifPresent(prioritizedTasks::remove);
         modifiedTask.setId(taskId);
         tasks.put(taskId, modifiedTask);
-        if (modifiedTask.getStartTime() != null) prioritizedTasks.add(modifiedTask);
+        index(modifiedTask);
+        if (modifiedTask.getStartEpochSecond() != Task.NO_TIME) prioritizedTasks.add(modifiedTask);
         return modifiedTask;
     }
 
     @Override
     public Epic updateEpic(int epicId, Epic modifiedEpic) {
         modifiedEpic.setId(epicId);
-        epics.put(epicId, modifiedEpic);
+        Epic oldEpic = epics.put(epicId, modifiedEpic);
+        index(modifiedEpic);
+        if (oldEpic != null && !oldEpic.getSubtaskIdsByEpic().isEmpty()) {
+            oldEpic.getSubtaskIdsByEpic().forEach(modifiedEpic::addSubtaskId);
+            epicCheckStatus(epicId);
+            updateEpicTime(modifiedEpic);
+        }
         return modifiedEpic;
     }
 
@@ -195,9 +306,11 @@ public class InMemoryTaskManager implements TaskManager {
         oldSubtask.ifPresent(prioritizedTasks::remove);
         modifiedSubtask.setId(subtaskId);
         subtasks.put(subtaskId, modifiedSubtask);
-        Epic epic = epics.get(modifiedSubtask.getEpicId());
-        epicCheckStatus(epic.getId());
-        updateEpicTime(epic);
+        index(modifiedSubtask);
+        oldSubtask.filter(old -> old.getEpicId() != modifiedSubtask.getEpicId())
+                .map(old -> epics.get(old.getEpicId()))
+                .ifPresent(oldEpic -> detachSubtask(oldEpic, subtaskId));
+        attachSubtask(epics.get(modifiedSubtask.getEpicId()), modifiedSubtask);
         prioritizedTasks.add(modifiedSubtask);
         return modifiedSubtask;
     }
@@ -205,8 +318,13 @@ public class InMemoryTaskManager implements TaskManager {
     @Override
     public List<Subtask> getSubtasksByEpicId(int epicId) {
         List<Subtask> subtasksByEpicId = new ArrayList<>();
-        for (Subtask subtask : subtasks.values()) {
-            if (subtask.getEpicId() == epicId) {
+        Epic epic = epics.get(epicId);
+        if (epic == null) {
+            return subtasksByEpicId;
+        }
+        for (Integer subtaskId : epic.getSubtaskIdsByEpic()) {
+            Subtask subtask = subtasks.get(subtaskId);
+            if (subtask != null) {
                 subtasksByEpicId.add(subtask);
             }
         }
@@ -216,24 +334,35 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Task deleteTask(int taskId) {
-        prioritizedTasks.remove(tasks.get(taskId));
         historyManager.removeFromTaskHistory(taskId);
-        return tasks.remove(taskId);
+        Task removed = tasks.remove(taskId);
+        if (removed != null) {
+            prioritizedTasks.remove(removed);
+            unindex(removed);
+        }
+        return removed;
     }
 
     @Override
     public Epic deleteEpic(int epicId) {
-        Iterator<Map.Entry<Integer, Subtask>> iterator = subtasks.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<Integer, Subtask> subtaskEntry = iterator.next();
-            if (subtaskEntry.getValue().getEpicId() == epicId) {
-                prioritizedTasks.remove(subtaskEntry.getValue());
-                iterator.remove();
-                historyManager.removeFromTaskHistory(subtaskEntry.getValue().getId());
+        Epic epic = epics.get(epicId);
+        if (epic != null) {
+            for (Integer subtaskId : epic.getSubtaskIdsByEpic()) {
+                Subtask subtask = subtasks.remove(subtaskId);
+                if (subtask != null) {
+                    prioritizedTasks.remove(subtask);
+                    historyManager.removeFromTaskHistory(subtaskId);
+                    unindex(subtask);
+                }
             }
         }
         historyManager.removeFromTaskHistory(epicId);
-        return epics.remove(epicId);
+        Epic removed = epics.remove(epicId);
+        if (removed != null) {
+            epicRollups.remove(epicId);
+            unindex(removed);
+        }
+        return removed;
     }
 
     @Override
@@ -241,39 +370,57 @@ public class InMemoryTaskManager implements TaskManager {
         Optional<Subtask> subtaskOptional = getSubtaskById(subtaskId);
         if (subtaskOptional.isEmpty()) return null;
         Subtask removeSubtask = subtasks.remove(subtaskId);
+        unindex(removeSubtask);
         prioritizedTasks.remove(removeSubtask);
         historyManager.removeFromTaskHistory(subtaskId);
         int epicId = removeSubtask.getEpicId();
         Optional<Epic> epicOptional = getEpicById(epicId);
-        epicOptional.ifPresent(epic -> {
-            epic.removeSubtaskId(subtaskId);
-            epicCheckStatus(epicId);
-            updateEpicTime(epic);
-        });
+        epicOptional.ifPresent(epic -> detachSubtask(epic, subtaskId));
         return removeSubtask;
     }
 
     @Override
     public void epicCheckStatus(int epicId) {
         Epic epic = epics.get(epicId);
-        int countSubtasksFromEpic = 0;
-        int newStat = 0;
-        int doneStat = 0;
+        epic.setStatus(rollupOf(epicId).status());
+        statusIndex.put(epic);
+        board.put(epic);
+    }
 
-        for (Subtask subtask : subtasks.values()) {
-            if (subtask.getEpicId() == epicId) {
-                countSubtasksFromEpic++;
-                if (subtask.getStatus() == TaskStatus.IN_PROGRESS) {
-                    epic.setStatus(TaskStatus.IN_PROGRESS);
-                    return;
-                }
-                if (subtask.getStatus() == TaskStatus.NEW) newStat++;
-                else if (subtask.getStatus() == TaskStatus.DONE) doneStat++;
-            }
-        }
-        if (doneStat == countSubtasksFromEpic) epic.setStatus(TaskStatus.DONE);
-        else if (newStat == countSubtasksFromEpic) epic.setStatus(TaskStatus.NEW);
-        else epic.setStatus(TaskStatus.IN_PROGRESS);
+    @Override
+    public BoardSnapshot snapshot() {
+        return board.snapshot();
+    }
+
+    private void index(Task task) {
+        statusIndex.put(task);
+        searchIndex.put(task.getId(), task.getName(), task.getDescription());
+        board.put(task);
+    }
+
+    private void unindex(Task removed) {
+        int id = removed.getId();
+        statusIndex.remove(removed.getTaskType(), id);
+        searchIndex.remove(id);
+        board.remove(removed.getTaskType(), id);
+    }
+
+    private EpicRollup rollupOf(int epicId) {
+        return epicRollups.computeIfAbsent(epicId, id -> new EpicRollup());
+    }
+
+    private void attachSubtask(Epic epic, Subtask subtask) {
+        epic.addSubtaskId(subtask.getId());
+        rollupOf(epic.getId()).put(subtask);
+        epicCheckStatus(epic.getId());
+        updateEpicTime(epic);
+    }
+
+    private void detachSubtask(Epic epic, int subtaskId) {
+        epic.removeSubtaskId(subtaskId);
+        rollupOf(epic.getId()).remove(subtaskId);
+        epicCheckStatus(epic.getId());
+        updateEpicTime(epic);
     }
 
     private void removeTasksFromHistory() {
@@ -301,50 +448,271 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
     private void updateEpicTime(Epic epic) {
-        List<Integer> subs = epic.getSubtaskIdsByEpic();
-        if (subs.isEmpty()) {
+        EpicRollup rollup = rollupOf(epic.getId());
+        if (rollup.isEmpty()) {
             return;
         }
-        LocalDateTime minStartTime = LocalDateTime.MAX;
-        LocalDateTime maxEndTime = LocalDateTime.MIN;
-        long duration = 0L;
-        for (Integer id : subs) {
-            Subtask subtask = subtasks.get(id);
-            if (subtask.getStartTime() == null) {
-                continue;
+        rollup.applyTime(epic);
+        board.put(epic);
+    }
+
+    protected void restoreTask(Task task) {
+        int id = task.getId();
+        generatorId = Math.max(generatorId, id);
+        switch (task.getTaskType()) {
+            case TASK -> {
+                Task oldTask = tasks.put(id, task);
+                if (oldTask != null) prioritizedTasks.remove(oldTask);
+                if (task.getStartEpochSecond() != Task.NO_TIME) prioritizedTasks.add(task);
             }
-            LocalDateTime startTime = subtask.getStartTime();
-            LocalDateTime endTime = subtask.getEndTime();
-            if (startTime.isBefore(minStartTime))
-                minStartTime = startTime;
-            if (endTime.isAfter(maxEndTime)) {
-                maxEndTime = endTime;
+            case EPIC -> {
+                Epic epic = (Epic) task;
+                Epic oldEpic = epics.put(id, epic);
+                if (oldEpic != null) oldEpic.getSubtaskIdsByEpic().forEach(epic::addSubtaskId);
+            }
+            case SUBTASK -> {
+                Subtask subtask = (Subtask) task;
+                Subtask oldSubtask = subtasks.put(id, subtask);
+                if (oldSubtask != null) {
+                    prioritizedTasks.remove(oldSubtask);
+                    Epic oldEpic = epics.get(oldSubtask.getEpicId());
+                    if (oldEpic != null && oldSubtask.getEpicId() != subtask.getEpicId()) {
+                        detachSubtask(oldEpic, id);
+                    }
+                }
+                Epic epic = epics.get(subtask.getEpicId());
+                if (epic != null) {
+                    attachSubtask(epic, subtask);
+                }
+                if (subtask.getStartEpochSecond() != Task.NO_TIME) prioritizedTasks.add(subtask);
+            }
+        }
+        index(task);
+    }
+
+    protected void restoreAll(Collection<? extends Task> snapshot) {
+        List<Task> timedTasks = new ArrayList<>();
+        for (Task task : snapshot) {
+            int id = task.getId();
+            generatorId = Math.max(generatorId, id);
+            switch (task.getTaskType()) {
+                case TASK -> tasks.put(id, task);
+                case EPIC -> epics.put(id, (Epic) task);
+                case SUBTASK -> subtasks.put(id, (Subtask) task);
+            }
+            index(task);
+            if (task.getTaskType() != TaskType.EPIC && task.getStartEpochSecond() != Task.NO_TIME) {
+                timedTasks.add(task);
+            }
+        }
+        timedTasks.sort(InMemoryTaskManager::compareByStartTime);
+        checkNoOverlaps(timedTasks);
+
+        Set<Epic> epicsWithSubtasks = new HashSet<>();
+        for (Subtask subtask : subtasks.values()) {
+            Epic epic = epics.get(subtask.getEpicId());
+            if (epic == null) continue;
+            epic.addSubtaskId(subtask.getId());
+            rollupOf(epic.getId()).put(subtask);
+            epicsWithSubtasks.add(epic);
+        }
+        for (Epic epic : epicsWithSubtasks) {
+            epicCheckStatus(epic.getId());
+            updateEpicTime(epic);
+        }
+        prioritizedTasks.addAll(timedTasks);
+    }
+
+    protected void checkRestoredOverlaps() {
+        List<Task> timedTasks = new ArrayList<>();
+        for (Task task : prioritizedTasks) {
+            if (task.getStartEpochSecond() != Task.NO_TIME) {
+                timedTasks.add(task);
+            }
+        }
+        checkNoOverlaps(timedTasks);
+    }
+
+    private void checkNoOverlaps(List<Task> sortedByStartTime) {
+        long currentStart = Task.NO_TIME;
+        long maxEnd = Task.NO_TIME;
+        long maxEndBeforeCurrentStart = Task.NO_TIME;
+        for (Task task : sortedByStartTime) {
+            if (task.getStartEpochSecond() != currentStart) {
+                currentStart = task.getStartEpochSecond();
+                maxEndBeforeCurrentStart = maxEnd;
+            }
+            boolean zeroDuration = task.getEndEpochSecond() == task.getStartEpochSecond();
+            long bound = zeroDuration ? maxEndBeforeCurrentStart : maxEnd;
+            if (bound != Task.NO_TIME && task.getStartEpochSecond() < bound) {
+                throw new InvalidTaskTimeException("Задача с id=" + task.getId() + " пересекается с другими задачами.");
+            }
+            maxEnd = Math.max(maxEnd, task.getEndEpochSecond());
+        }
+    }
+
+    protected void restoreRemove(TaskType type, int id) {
+        switch (type) {
+            case TASK -> deleteTask(id);
+            case EPIC -> deleteEpic(id);
+            case SUBTASK -> {
+                Subtask subtask = subtasks.remove(id);
+                if (subtask == null) return;
+                unindex(subtask);
+                prioritizedTasks.remove(subtask);
+                historyManager.removeFromTaskHistory(id);
+                Epic epic = epics.get(subtask.getEpicId());
+                if (epic != null) {
+                    detachSubtask(epic, id);
+                }
             }
-            duration += subtask.getDuration().toMinutes();
         }
-        if (minStartTime == LocalDateTime.MAX) minStartTime = null;
-        if (maxEndTime == LocalDateTime.MIN) maxEndTime = null;
-        epic.setStartTime(minStartTime);
-        epic.setEndTime(maxEndTime);
-        epic.setDuration(Duration.ofMinutes(duration));
     }
 
     public boolean validateTask(Task task) {
-        if (task.getStartTime() == null || task.getEndTime() == null) {
+        if (task.getStartEpochSecond() == Task.NO_TIME || task.getEndEpochSecond() == Task.NO_TIME) {
             return true;
         }
-        for (Task existingTask : prioritizedTasks) {
-            if (Objects.equals(existingTask.getId(), task.getId()) || existingTask.getStartTime() == null || existingTask.getEndTime() == null) {
+        return findConflicts(task.getStartEpochSecond(), task.getEndEpochSecond(), task.getId()).isEmpty();
+    }
+
+    @Override
+    public List<Task> findConflicts(LocalDateTime start, LocalDateTime end) {
+        return findConflicts(Task.toEpochSecond(start), Task.toEpochSecond(end), null);
+    }
+
+    private List<Task> findConflicts(long start, long end, Integer excludedId) {
+        List<Task> conflicts = new ArrayList<>();
+        for (Task candidate : prioritizedTasks.headSet(probe(start, Integer.MAX_VALUE), true).descendingSet()) {
+            if (candidate.getStartEpochSecond() == candidate.getEndEpochSecond()) {
                 continue;
             }
-            if (isTimeConflict(task, existingTask)) {
-                return false;
+            if (isTimeConflict(start, end, candidate) && !Objects.equals(candidate.getId(), excludedId)) {
+                conflicts.add(candidate);
+            }
+            break;
+        }
+        if (start < end) {
+            for (Task candidate : prioritizedTasks.subSet(probe(start, Integer.MAX_VALUE), false, probe(end, Integer.MIN_VALUE), false)) {
+                if (!Objects.equals(candidate.getId(), excludedId)) {
+                    conflicts.add(candidate);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findFreeSlot(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter) {
+        if (duration == null || duration.isNegative() || notBefore == null) {
+            throw new IllegalArgumentException("Нужны неотрицательная длительность и начало поиска");
+        }
+        long length = duration.getSeconds();
+        long limit = Task.toEpochSecond(notAfter);
+        long cursor = Task.toEpochSecond(notBefore);
+        Task head = probe(cursor, Integer.MIN_VALUE);
+        for (Task previous : prioritizedTasks.headSet(head, false).descendingSet()) {
+            if (previous.getStartEpochSecond() != previous.getEndEpochSecond()) {
+                cursor = Math.max(cursor, previous.getEndEpochSecond());
+                break;
+            }
+        }
+        for (Task task : prioritizedTasks.tailSet(head, true)) {
+            long start = task.getStartEpochSecond();
+            if (start == Task.NO_TIME || start >= cursor + length || (limit != Task.NO_TIME && cursor + length > limit)) {
+                break;
+            }
+            if (start == task.getEndEpochSecond()) {
+                cursor = Math.max(cursor, start);
+            } else {
+                cursor = Math.max(cursor, task.getEndEpochSecond());
+            }
+        }
+        if (limit != Task.NO_TIME && cursor + length > limit) {
+            return Optional.empty();
+        }
+        return Optional.of(Task.toDateTime(cursor));
+    }
+
+    @Override
+    public ScheduleResult schedule(ScheduleRequest request) {
+        GapScheduler scheduler = new GapScheduler(request.notBefore(), request.notAfter());
+        Task head = probe(Task.toEpochSecond(request.notBefore()), Integer.MIN_VALUE);
+        for (Task previous : prioritizedTasks.headSet(head, false).descendingSet()) {
+            if (previous.getStartEpochSecond() != previous.getEndEpochSecond()) {
+                scheduler.busy(previous.getStartEpochSecond(), previous.getEndEpochSecond());
+                break;
+            }
+        }
+        NavigableSet<Task> timeline = prioritizedTasks.tailSet(head, true);
+        if (request.notAfter() != null) {
+            timeline = timeline.headSet(probe(Task.toEpochSecond(request.notAfter()), Integer.MIN_VALUE), false);
+        }
+        for (Task task : timeline) {
+            if (task.getStartEpochSecond() == Task.NO_TIME) {
+                break;
+            }
+            scheduler.busy(task.getStartEpochSecond(), task.getEndEpochSecond());
+        }
+
+        List<Task> candidates = new ArrayList<>();
+        List<Integer> rejected = new ArrayList<>();
+        if (request.taskIds() == null) {
+            tasks.values().stream().filter(task -> task.getStartEpochSecond() == Task.NO_TIME).forEach(candidates::add);
+            subtasks.values().stream().filter(task -> task.getStartEpochSecond() == Task.NO_TIME).forEach(candidates::add);
+            candidates.sort(Comparator.comparingInt(Task::getId));
+        } else {
+            for (int id : request.taskIds()) {
+                Task task = tasks.get(id);
+                if (task == null) {
+                    task = subtasks.get(id);
+                }
+                if (task != null && task.getStartEpochSecond() == Task.NO_TIME) {
+                    candidates.add(task);
+                } else {
+                    rejected.add(id);
+                }
+            }
+        }
+
+        ScheduleResult result = scheduler.schedule(candidates, request);
+        result.unscheduled().addAll(rejected);
+        if (!request.dryRun()) {
+            result.scheduled().forEach(this::applyPlacement);
+        }
+        return result;
+    }
+
+    private void applyPlacement(Task placed) {
+        int id = placed.getId();
+        if (placed instanceof Subtask subtask) {
+            prioritizedTasks.remove(subtasks.put(id, subtask));
+            Epic epic = epics.get(subtask.getEpicId());
+            if (epic != null) {
+                attachSubtask(epic, subtask);
             }
+        } else {
+            prioritizedTasks.remove(tasks.put(id, placed));
         }
-        return true;
+        index(placed);
+        prioritizedTasks.add(placed);
+    }
+
+    private static Task probe(long startEpochSecond, int id) {
+        return new Task(id, null, null, null, Duration.ZERO, Task.toDateTime(startEpochSecond));
+    }
+
+    private boolean isTimeConflict(long start, long end, Task task) {
+        return start < task.getEndEpochSecond() && end > task.getStartEpochSecond();
+    }
+
+    static int compareByStartTime(Task left, Task right) {
+        int byStart = Long.compare(startSortKey(left), startSortKey(right));
+        return byStart != 0 ? byStart : Integer.compare(left.getId(), right.getId());
     }
 
-    private boolean isTimeConflict(Task task1, Task task2) {
-        return task1.getStartTime().isBefore(task2.getEndTime()) && task1.getEndTime().isAfter(task2.getStartTime());
+    private static long startSortKey(Task task) {
+        long start = task.getStartEpochSecond();
+        return start != Task.NO_TIME ? start : Long.MAX_VALUE;
     }
 }
\ No newline at end of file
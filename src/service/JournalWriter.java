@@ -0,0 +1,242 @@
+package service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+
+class JournalWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final Durability durability;
+    private final long windowNanos;
+    private final int maxRecords;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingAvailable = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+    private final AtomicInteger arriving = new AtomicInteger();
+    private final Thread committer;
+    private final Deflater deflater;
+    private List<byte[]> pending = new ArrayList<>();
+    private long appendedSequence;
+    private long committedSequence;
+    private long commits;
+    private IOException failure;
+    private boolean closed;
+
+    JournalWriter(Path path, boolean append, StorageConfig config) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        this.durability = config.durability();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(config.groupCommitWindowMillis());
+        this.maxRecords = config.groupCommitMaxRecords();
+        this.deflater = config.compressed() ? new Deflater() : null;
+        if (isBackground()) {
+            committer = new Thread(this::runCommitter, "journal-committer");
+            committer.setDaemon(true);
+            committer.start();
+        } else {
+            committer = null;
+        }
+    }
+
+    void append(byte[] record) throws IOException {
+        awaitDurable(enqueue(record));
+    }
+
+    long enqueue(byte[] record) throws IOException {
+        arriving.incrementAndGet();
+        lock.lock();
+        try {
+            arriving.decrementAndGet();
+            checkState();
+            switch (durability) {
+                case WRITE_THROUGH -> write(List.of(record));
+                case FSYNC_PER_OPERATION -> {
+                    write(List.of(record));
+                    channel.force(false);
+                }
+                case GROUP_FSYNC, ASYNC -> {
+                    while (pending.size() >= maxRecords && failure == null && !closed) {
+                        pendingAvailable.signal();
+                        spaceAvailable.awaitUninterruptibly();
+                    }
+                    checkState();
+                    pending.add(record);
+                    pendingAvailable.signal();
+                    return ++appendedSequence;
+                }
+            }
+            committedSequence = ++appendedSequence;
+            commits++;
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void awaitDurable(long sequence) throws IOException {
+        if (durability != Durability.GROUP_FSYNC) {
+            return;
+        }
+        lock.lock();
+        try {
+            awaitCommitted(sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long commits() {
+        lock.lock();
+        try {
+            return commits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void flush() throws IOException {
+        lock.lock();
+        try {
+            checkState();
+            if (isBackground()) {
+                pendingAvailable.signal();
+                awaitCommitted(appendedSequence);
+            }
+            channel.force(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingAvailable.signal();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (committer != null) {
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            if (failure == null) {
+                channel.force(false);
+            }
+        } finally {
+            channel.close();
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean isBackground() {
+        return durability == Durability.GROUP_FSYNC || durability == Durability.ASYNC;
+    }
+
+    private void checkState() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (closed) {
+            throw new IOException("Журнал закрыт");
+        }
+    }
+
+    private void awaitCommitted(long sequence) throws IOException {
+        while (committedSequence < sequence && failure == null) {
+            committed.awaitUninterruptibly();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void runCommitter() {
+        lock.lock();
+        try {
+            while (true) {
+                while (pending.isEmpty() && !closed) {
+                    pendingAvailable.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                long deadline = System.nanoTime() + windowNanos;
+                long remaining = windowNanos;
+                while (arriving.get() > 0 && pending.size() < maxRecords && !closed && remaining > 0) {
+                    try {
+                        pendingAvailable.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                    remaining = deadline - System.nanoTime();
+                }
+                List<byte[]> batch = pending;
+                long batchSequence = appendedSequence;
+                pending = new ArrayList<>();
+                spaceAvailable.signalAll();
+                lock.unlock();
+                try {
+                    write(batch);
+                    if (durability == Durability.GROUP_FSYNC) {
+                        channel.force(false);
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                } finally {
+                    lock.lock();
+                }
+                committedSequence = batchSequence;
+                commits++;
+                committed.signalAll();
+                if (failure != null) {
+                    return;
+                }
+            }
+        } finally {
+            committed.signalAll();
+            spaceAvailable.signalAll();
+            lock.unlock();
+        }
+    }
+
+    private void write(List<byte[]> records) throws IOException {
+        if (deflater != null) {
+            records = List.of(CompressionCodec.frame(deflater, records));
+        }
+        ByteBuffer[] buffers = new ByteBuffer[records.size()];
+        long total = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(records.get(i));
+            total += buffers[i].remaining();
+        }
+        long written = 0;
+        while (written < total) {
+            written += channel.write(buffers);
+        }
+    }
+}
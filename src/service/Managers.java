@@ -8,6 +8,22 @@ public class Managers {
         return new InMemoryTaskManager(getDefaultHistory());
     }
 
+    public static TaskManager getDense() {
+        return new InMemoryTaskManager(getDefaultHistory(), TaskStoreType.DENSE_ARRAY);
+    }
+
+    public static TaskManager getColumnar() {
+        return new ColumnarTaskManager(getDefaultHistory());
+    }
+
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager(new InMemoryTaskManager(new ConcurrentHistoryManager()));
+    }
+
+    public static CommandQueueTaskManager getCommandQueue() {
+        return new CommandQueueTaskManager(new InMemoryTaskManager(getDefaultHistory()));
+    }
+
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
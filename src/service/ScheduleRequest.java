@@ -0,0 +1,31 @@
+package service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record ScheduleRequest(List<Integer> taskIds, LocalDateTime notBefore, LocalDateTime notAfter,
+                              SchedulingStrategy strategy, Map<Integer, LocalDateTime> deadlines, boolean dryRun) {
+
+    public ScheduleRequest {
+        if (notBefore == null) {
+            throw new IllegalArgumentException("Не задано начало планирования");
+        }
+        if (notAfter != null && notAfter.isBefore(notBefore)) {
+            throw new IllegalArgumentException("Конец планирования раньше начала");
+        }
+        if (strategy == null) {
+            strategy = SchedulingStrategy.FIRST_FIT;
+        }
+        deadlines = deadlines == null ? Map.of() : Map.copyOf(deadlines);
+        taskIds = taskIds == null ? null : List.copyOf(taskIds);
+    }
+
+    public static ScheduleRequest firstFit(LocalDateTime notBefore) {
+        return new ScheduleRequest(null, notBefore, null, SchedulingStrategy.FIRST_FIT, null, false);
+    }
+
+    public ScheduleRequest withDryRun(boolean dryRun) {
+        return new ScheduleRequest(taskIds, notBefore, notAfter, strategy, deadlines, dryRun);
+    }
+}
@@ -0,0 +1,8 @@
+package service;
+
+import model.Task;
+
+import java.util.List;
+
+public record ScheduleResult(List<Task> scheduled, List<Integer> unscheduled, boolean dryRun) {
+}
@@ -0,0 +1,6 @@
+package service;
+
+public enum SchedulingStrategy {
+    FIRST_FIT,
+    EARLIEST_DEADLINE
+}
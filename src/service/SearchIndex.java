@@ -0,0 +1,113 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class SearchIndex {
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Map<String, Integer>> documents = new HashMap<>();
+
+    void put(int id, String name, String description) {
+        remove(id);
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(name)) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        if (weights.isEmpty()) {
+            return;
+        }
+        documents.put(id, weights);
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+    }
+
+    void remove(int id) {
+        Map<String, Integer> weights = documents.remove(id);
+        if (weights == null) {
+            return;
+        }
+        for (String term : weights.keySet()) {
+            Map<Integer, Integer> ids = postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    List<Integer> search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Integer, Double> scores = null;
+        for (String term : terms) {
+            Map<Integer, Double> termScores = score(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        List<Integer> page = new ArrayList<>();
+        for (int i = Math.max(offset, 0); i < ranked.size() && page.size() < limit; i++) {
+            page.add(ranked.get(i).getKey());
+        }
+        return page;
+    }
+
+    private Map<Integer, Double> score(String term) {
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Integer>> posting : postings.subMap(term, term + Character.MAX_VALUE).entrySet()) {
+            boolean exact = posting.getKey().length() == term.length();
+            double idf = Math.log(1 + (double) documents.size() / posting.getValue().size());
+            double boost = exact ? 1.0 : 0.5;
+            posting.getValue().forEach((id, weight) -> scores.merge(id, weight * idf * boost, Double::sum));
+        }
+        return scores;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(fold(c));
+            } else if (!term.isEmpty()) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    private static char fold(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower == 'ё' ? 'е' : lower;
+    }
+}
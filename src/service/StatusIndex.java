@@ -0,0 +1,50 @@
+package service;
+
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+final class StatusIndex {
+    private final Map<TaskType, BitSet[]> buckets = new EnumMap<>(TaskType.class);
+
+    StatusIndex() {
+        for (TaskType type : TaskType.values()) {
+            BitSet[] byStatus = new BitSet[TaskStatus.values().length];
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new BitSet();
+            }
+            buckets.put(type, byStatus);
+        }
+    }
+
+    void put(Task task) {
+        int id = task.getId();
+        BitSet[] byStatus = buckets.get(task.getTaskType());
+        for (BitSet bucket : byStatus) {
+            bucket.clear(id);
+        }
+        if (task.getStatus() != null) {
+            byStatus[task.getStatus().ordinal()].set(id);
+        }
+    }
+
+    void remove(TaskType type, int id) {
+        for (BitSet bucket : buckets.get(type)) {
+            bucket.clear(id);
+        }
+    }
+
+    void clear(TaskType type) {
+        for (BitSet bucket : buckets.get(type)) {
+            bucket.clear();
+        }
+    }
+
+    BitSet ids(TaskType type, TaskStatus status) {
+        return (BitSet) buckets.get(type)[status.ordinal()].clone();
+    }
+}
@@ -0,0 +1,70 @@
+package service;
+
+public record StorageConfig(StorageMode mode, Durability durability, long groupCommitWindowMillis,
+                            int groupCommitMaxRecords, int checkpointEveryRecords, SnapshotFormat snapshotFormat,
+                            long writeBehindIntervalMillis, boolean compressed) {
+    public static final long DEFAULT_GROUP_COMMIT_WINDOW_MILLIS = 5;
+    public static final int DEFAULT_GROUP_COMMIT_MAX_RECORDS = 512;
+    public static final int DEFAULT_CHECKPOINT_EVERY_RECORDS = 10_000;
+    public static final long DEFAULT_WRITE_BEHIND_INTERVAL_MILLIS = 100;
+
+    public StorageConfig {
+        if (groupCommitWindowMillis < 0 || groupCommitMaxRecords < 1) {
+            throw new IllegalArgumentException("Некорректные параметры группового коммита");
+        }
+        if (snapshotFormat == null) {
+            throw new IllegalArgumentException("Не задан формат снимка");
+        }
+        if (checkpointEveryRecords < 0) {
+            throw new IllegalArgumentException("Некорректный интервал создания снимка");
+        }
+        if (writeBehindIntervalMillis < 1) {
+            throw new IllegalArgumentException("Некорректный интервал отложенной записи");
+        }
+    }
+
+    public static StorageConfig snapshot() {
+        return of(StorageMode.SNAPSHOT);
+    }
+
+    public static StorageConfig journal(Durability durability) {
+        return new StorageConfig(StorageMode.JOURNAL, durability, DEFAULT_GROUP_COMMIT_WINDOW_MILLIS,
+                DEFAULT_GROUP_COMMIT_MAX_RECORDS, DEFAULT_CHECKPOINT_EVERY_RECORDS, SnapshotFormat.CSV,
+                DEFAULT_WRITE_BEHIND_INTERVAL_MILLIS, false);
+    }
+
+    public static StorageConfig writeBehind(long intervalMillis) {
+        return of(StorageMode.WRITE_BEHIND).withWriteBehindInterval(intervalMillis);
+    }
+
+    public static StorageConfig of(StorageMode mode) {
+        return new StorageConfig(mode, Durability.WRITE_THROUGH, DEFAULT_GROUP_COMMIT_WINDOW_MILLIS,
+                DEFAULT_GROUP_COMMIT_MAX_RECORDS, DEFAULT_CHECKPOINT_EVERY_RECORDS, SnapshotFormat.CSV,
+                DEFAULT_WRITE_BEHIND_INTERVAL_MILLIS, false);
+    }
+
+    public StorageConfig withGroupCommit(long windowMillis, int maxRecords) {
+        return new StorageConfig(mode, durability, windowMillis, maxRecords, checkpointEveryRecords, snapshotFormat,
+                writeBehindIntervalMillis, compressed);
+    }
+
+    public StorageConfig withCheckpointEvery(int records) {
+        return new StorageConfig(mode, durability, groupCommitWindowMillis, groupCommitMaxRecords, records,
+                snapshotFormat, writeBehindIntervalMillis, compressed);
+    }
+
+    public StorageConfig withSnapshotFormat(SnapshotFormat format) {
+        return new StorageConfig(mode, durability, groupCommitWindowMillis, groupCommitMaxRecords,
+                checkpointEveryRecords, format, writeBehindIntervalMillis, compressed);
+    }
+
+    public StorageConfig withWriteBehindInterval(long intervalMillis) {
+        return new StorageConfig(mode, durability, groupCommitWindowMillis, groupCommitMaxRecords,
+                checkpointEveryRecords, snapshotFormat, intervalMillis, compressed);
+    }
+
+    public StorageConfig withCompression(boolean enabled) {
+        return new StorageConfig(mode, durability, groupCommitWindowMillis, groupCommitMaxRecords,
+                checkpointEveryRecords, snapshotFormat, writeBehindIntervalMillis, enabled);
+    }
+}
@@ -0,0 +1,7 @@
+package service;
+
+public enum StorageMode {
+    SNAPSHOT,
+    JOURNAL,
+    WRITE_BEHIND
+}
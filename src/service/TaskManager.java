@@ -3,7 +3,11 @@ package service;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import model.TaskStatus;
+import model.TaskType;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +20,10 @@ public interface TaskManager {
 
     List<Epic> getEpics();
 
+    List<Task> getByStatus(TaskType type, TaskStatus status);
+
+    List<Task> search(String query, int offset, int limit);
+
     Task createTask(Task task);
 
     Epic createEpic(Epic epic);
@@ -52,5 +60,15 @@ public interface TaskManager {
 
     List<Task> getPrioritizedTasks();
 
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
     boolean validateTask(Task task);
+
+    List<Task> findConflicts(LocalDateTime start, LocalDateTime end);
+
+    Optional<LocalDateTime> findFreeSlot(Duration duration, LocalDateTime notBefore, LocalDateTime notAfter);
+
+    ScheduleResult schedule(ScheduleRequest request);
+
+    BoardSnapshot snapshot();
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package service;
+
+import model.Task;
+import model.TaskType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum TaskStoreType {
+    HASH_MAP,
+    DENSE_ARRAY;
+
+    <V extends Task> Map<Integer, V> newMap(TaskType type, DenseIdMap.Table table) {
+        return this == DENSE_ARRAY ? new DenseIdMap<>(table, type) : new HashMap<>();
+    }
+}
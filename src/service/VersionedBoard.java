@@ -0,0 +1,141 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+final class VersionedBoard {
+    private long version;
+    private PersistentSortedMap<Integer, Task> tasks = PersistentSortedMap.empty(Comparator.naturalOrder());
+    private PersistentSortedMap<Integer, Epic> epics = PersistentSortedMap.empty(Comparator.naturalOrder());
+    private PersistentSortedMap<Integer, Subtask> subtasks = PersistentSortedMap.empty(Comparator.naturalOrder());
+    private PersistentSortedMap<Task, Task> prioritized = PersistentSortedMap.empty(InMemoryTaskManager::compareByStartTime);
+    private final Map<Integer, Supplier<Epic>> pendingEpics = new HashMap<>();
+    private BoardSnapshot snapshot;
+
+    void put(Task task) {
+        if (task instanceof Epic epic) {
+            putEpic(epic.getId(), () -> epic);
+            return;
+        }
+        Task copy = copy(task);
+        int id = copy.getId();
+        switch (copy.getTaskType()) {
+            case TASK -> {
+                unprioritize(tasks.get(id));
+                tasks = tasks.put(id, copy);
+                prioritize(copy);
+            }
+            case SUBTASK -> {
+                unprioritize(subtasks.get(id));
+                subtasks = subtasks.put(id, (Subtask) copy);
+                prioritize(copy);
+            }
+        }
+        changed();
+    }
+
+    void putEpic(int id, Supplier<Epic> source) {
+        pendingEpics.put(id, source);
+        changed();
+    }
+
+    void remove(TaskType type, int id) {
+        switch (type) {
+            case TASK -> {
+                unprioritize(tasks.get(id));
+                tasks = tasks.remove(id);
+            }
+            case SUBTASK -> {
+                unprioritize(subtasks.get(id));
+                subtasks = subtasks.remove(id);
+            }
+            case EPIC -> {
+                pendingEpics.remove(id);
+                epics = epics.remove(id);
+            }
+        }
+        changed();
+    }
+
+    void clear(TaskType type) {
+        switch (type) {
+            case TASK -> {
+                tasks.values().forEach(this::unprioritize);
+                tasks = PersistentSortedMap.empty(Comparator.naturalOrder());
+            }
+            case SUBTASK -> {
+                subtasks.values().forEach(this::unprioritize);
+                subtasks = PersistentSortedMap.empty(Comparator.naturalOrder());
+            }
+            case EPIC -> {
+                pendingEpics.clear();
+                epics = PersistentSortedMap.empty(Comparator.naturalOrder());
+            }
+        }
+        changed();
+    }
+
+    synchronized BoardSnapshot snapshot() {
+        if (snapshot == null) {
+            pendingEpics.forEach((id, source) -> epics = epics.put(id, copy(source.get())));
+            pendingEpics.clear();
+            snapshot = new BoardSnapshot(version, tasks, epics, subtasks, prioritized);
+        }
+        return snapshot;
+    }
+
+    static <T extends Task> List<T> copies(List<T> tasks) {
+        List<T> result = new ArrayList<>(tasks.size());
+        for (T task : tasks) {
+            result.add(copy(task));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Task> T copy(T task) {
+        if (task == null) {
+            return null;
+        }
+        Task copy = switch (task.getTaskType()) {
+            case TASK -> new Task(task.getId(), task.getName(), task.getDescription(), task.getStatus(), null, null);
+            case SUBTASK -> new Subtask(task.getId(), task.getName(), task.getDescription(), task.getStatus(),
+                    ((Subtask) task).getEpicId(), null, null);
+            case EPIC -> {
+                Epic epic = new Epic(task.getId(), task.getName(), task.getDescription(), task.getStatus(), null, null);
+                ((Epic) task).getSubtaskIdsByEpic().forEach(epic::addSubtaskId);
+                yield epic;
+            }
+        };
+        copy.setDuration(task.getDuration());
+        copy.setStartTime(task.getStartTime());
+        copy.setEndTime(task.getEndTime());
+        return (T) copy;
+    }
+
+    private void prioritize(Task task) {
+        if (task.getStartEpochSecond() != Task.NO_TIME) {
+            prioritized = prioritized.put(task, task);
+        }
+    }
+
+    private void unprioritize(Task task) {
+        if (task != null) {
+            prioritized = prioritized.remove(task);
+        }
+    }
+
+    private void changed() {
+        version++;
+        snapshot = null;
+    }
+}
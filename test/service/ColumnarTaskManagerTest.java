@@ -0,0 +1,82 @@
+package service;
+
+import exceptions.NotFoundException;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarTaskManagerTest extends TaskManagerTest<ColumnarTaskManager> {
+
+    @Override
+    @BeforeEach
+    public void init() {
+        taskManager = createTaskManager();
+    }
+
+    @Override
+    protected ColumnarTaskManager createTaskManager() {
+        return new ColumnarTaskManager(Managers.getDefaultHistory());
+    }
+
+    @Test
+    void prioritizedTasksShouldBeSortedByStartThenId() {
+        LocalDateTime start = LocalDateTime.of(2025, 4, 1, 10, 0);
+        Task late = taskManager.createTask(new Task("Late", "Desc", Duration.ofMinutes(10), start.plusHours(1)));
+        Task point = taskManager.createTask(new Task("Point", "Desc", Duration.ZERO, start));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask early = taskManager.createSubtask(new Subtask("Early", "Desc", epic.getId(), Duration.ofMinutes(30), start));
+
+        assertEquals(List.of(point, early, late), taskManager.getPrioritizedTasks());
+        assertEquals(start, taskManager.getEpicById(epic.getId()).orElseThrow().getStartTime());
+    }
+
+    @Test
+    void materializedTasksShouldNotShareStateWithStore() {
+        Task task = taskManager.createTask(new Task("Task", "Desc"));
+        Task loaded = taskManager.getTaskById(task.getId()).orElseThrow();
+        loaded.setStatus(TaskStatus.DONE);
+
+        assertNotSame(loaded, taskManager.getTaskById(task.getId()).orElseThrow());
+        assertEquals(TaskStatus.NEW, taskManager.getTaskById(task.getId()).orElseThrow().getStatus(),
+                "Изменение возвращенного объекта не должно менять хранилище");
+    }
+
+    @Test
+    void updatesShouldRejectMissingIdsAndIdsOfAnotherType() {
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Desc", epic.getId()));
+
+        assertThrows(NotFoundException.class, () -> taskManager.updateTask(epic.getId(), new Task("Task", "Desc")),
+                "Эпик не должен превращаться в задачу");
+        assertThrows(NotFoundException.class, () -> taskManager.updateEpic(subtask.getId(), new Epic("Epic", "Desc")));
+        assertThrows(NotFoundException.class, () -> taskManager.updateTask(1_000_000, new Task("Task", "Desc")));
+        assertEquals(List.of(subtask), taskManager.getSubtasksByEpicId(epic.getId()));
+        assertTrue(taskManager.getTasks().isEmpty());
+        assertEquals(subtask.getId() + 1, taskManager.createTask(new Task("Task", "Desc")).getId(),
+                "Неизвестный id не должен сдвигать генератор");
+    }
+
+    @Test
+    void conflictChecksShouldUseTimelineAroundZeroDurationTasks() {
+        LocalDateTime start = LocalDateTime.of(2025, 4, 1, 10, 0);
+        Task first = taskManager.createTask(new Task("First", "Desc", Duration.ofMinutes(60), start));
+        Task point = taskManager.createTask(new Task("Point", "Desc", Duration.ZERO, start.plusMinutes(90)));
+        taskManager.createTask(new Task("Second", "Desc", Duration.ofMinutes(30), start.plusHours(3)));
+
+        assertEquals(List.of(first, point), taskManager.findConflicts(start.plusMinutes(30), start.plusHours(2)));
+        assertTrue(taskManager.validateTask(new Task("Gap", "Desc", Duration.ofMinutes(60), start.plusMinutes(100))));
+        assertTrue(taskManager.findConflicts(start.plusHours(4), start.plusHours(5)).isEmpty());
+    }
+}
@@ -0,0 +1,208 @@
+package service;
+
+import exceptions.InvalidTaskTimeException;
+import exceptions.ManagerSaveException;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandQueueTaskManagerTest extends TaskManagerTest<CommandQueueTaskManager> {
+
+    @Override
+    @BeforeEach
+    public void init() {
+        taskManager = createTaskManager();
+    }
+
+    @Override
+    protected CommandQueueTaskManager createTaskManager() {
+        return new CommandQueueTaskManager(new InMemoryTaskManager(Managers.getDefaultHistory()), 8);
+    }
+
+    @AfterEach
+    void stopWriter() {
+        taskManager.close();
+    }
+
+    @Test
+    void publishedSnapshotShouldNotChangeAfterLaterWrites() {
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Desc", epic.getId()));
+        List<Epic> before = taskManager.getEpics();
+
+        taskManager.updateSubtask(subtask.getId(), new Subtask(subtask.getId(), "Subtask", "Desc", TaskStatus.DONE, epic.getId()));
+
+        assertEquals(TaskStatus.NEW, before.get(0).getStatus(), "Опубликованный снимок должен быть неизменным");
+        assertEquals(TaskStatus.DONE, taskManager.getEpics().get(0).getStatus(), "Запись должна быть видна сразу после возврата");
+    }
+
+    @Test
+    void commandsFromManyThreadsShouldBeAppliedInOneOrder() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Task>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            LocalDateTime slot = start.plusMinutes(i % 200 * 10L);
+            futures.add(pool.submit(() -> taskManager.createTask(new Task("Task", "Desc", Duration.ofMinutes(10), slot))));
+        }
+        int created = 0;
+        int rejected = 0;
+        for (Future<Task> future : futures) {
+            try {
+                future.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof InvalidTaskTimeException);
+                rejected++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(200, created, "В каждый слот должна попасть ровно одна задача");
+        assertEquals(200, rejected);
+        assertEquals(200, taskManager.getPrioritizedTasks().size());
+        assertEquals(200, taskManager.getTasks().size());
+    }
+
+    @Test
+    void closedManagerShouldRejectCommands() {
+        taskManager.close();
+
+        assertThrows(IllegalStateException.class, () -> taskManager.createTask(new Task("Task", "Desc")));
+    }
+
+    @Test
+    void commandsRacingWithCloseShouldCompleteOrBeRejected() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch started = new CountDownLatch(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                started.countDown();
+                int created = 0;
+                try {
+                    while (true) {
+                        taskManager.createTask(new Task("Task", "Desc"));
+                        created++;
+                    }
+                } catch (IllegalStateException e) {
+                    return created;
+                }
+            }));
+        }
+        started.await();
+        taskManager.close();
+
+        int created = 0;
+        for (Future<Integer> future : futures) {
+            created += future.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(created, taskManager.getTasks().size(), "Каждая принятая команда должна быть применена");
+    }
+
+    @Test
+    void returnedTasksShouldNotChangeLaterReads() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        Task task = taskManager.createTask(new Task("Task", "Desc", Duration.ofMinutes(60), start));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+
+        task.setStatus(TaskStatus.DONE);
+        taskManager.getTaskById(task.getId()).orElseThrow().setStartTime(start.plusHours(3));
+        taskManager.getTasks().get(0).setStatus(TaskStatus.IN_PROGRESS);
+        taskManager.getPrioritizedTasks().get(0).setEndTime(start.plusHours(8));
+        taskManager.getEpicById(epic.getId()).orElseThrow().addSubtaskId(100);
+
+        Task stored = taskManager.getTaskById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.NEW, stored.getStatus(), "Изменение возвращённой задачи не должно быть видно при чтении");
+        assertEquals(start, stored.getStartTime());
+        assertEquals(start.plusHours(1), taskManager.getPrioritizedTasks().get(0).getEndTime());
+        assertTrue(taskManager.getEpicById(epic.getId()).orElseThrow().getSubtaskIdsByEpic().isEmpty());
+        assertFalse(taskManager.validateTask(new Task("Other", "Desc", Duration.ofMinutes(60), start)),
+                "Приоритетный индекс не должен сдвигаться из-за изменения копии");
+    }
+
+    @Test
+    void failedPublishShouldFailTheBatchAndKeepTheWriterRunning() {
+        AtomicBoolean failNextSnapshot = new AtomicBoolean();
+        CommandQueueTaskManager manager = new CommandQueueTaskManager(new InMemoryTaskManager(Managers.getDefaultHistory()) {
+            @Override
+            public BoardSnapshot snapshot() {
+                if (failNextSnapshot.getAndSet(false)) {
+                    throw new ManagerSaveException("Ошибка при сохранении в файл");
+                }
+                return super.snapshot();
+            }
+        }, 8);
+        try {
+            failNextSnapshot.set(true);
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertThrows(ManagerSaveException.class, () -> manager.createTask(new Task("Task 1", "Desc")));
+
+                Task created = manager.createTask(new Task("Task 2", "Desc"));
+
+                assertEquals(2, created.getId(), "Писатель должен продолжить работу после ошибки публикации");
+            });
+            assertEquals(2, manager.getTasks().size());
+        } finally {
+            manager.close();
+        }
+    }
+
+    @Test
+    void viewsShouldNotBlockWhenQueueIsFull() throws Exception {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CommandQueueTaskManager manager = new CommandQueueTaskManager(new InMemoryTaskManager(Managers.getDefaultHistory()) {
+            @Override
+            public Epic createEpic(Epic epic) {
+                writerBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.createEpic(epic);
+            }
+        }, 2);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Task task = manager.createTask(new Task("Task", "Desc"));
+            pool.submit(() -> manager.createEpic(new Epic("Epic", "Desc")));
+            writerBlocked.await();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 10; i++) {
+                    assertTrue(manager.getTaskById(task.getId()).isPresent());
+                }
+            }, "Просмотр не должен ждать места в очереди");
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+            manager.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package service;
+
+import model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentHistoryManagerTest {
+    private static final int THREADS = 8;
+    private static final int VIEWS_PER_THREAD = 1000;
+
+    @Test
+    void shouldKeepAccessOrderAndRemovals() {
+        HistoryManager historyManager = new ConcurrentHistoryManager();
+        for (int id = 1; id <= 3; id++) {
+            historyManager.addToHistory(new Task(id, "Задача " + id, "Описание"));
+        }
+        historyManager.addToHistory(new Task(1, "Задача 1", "Описание"));
+        historyManager.removeFromTaskHistory(2);
+
+        assertEquals(List.of(3, 1), historyManager.getHistory().stream().map(Task::getId).toList(),
+                "Повторный просмотр переносит задачу в конец, удалённая исчезает");
+    }
+
+    @Test
+    void concurrentViewsShouldAllReachHistory() throws InterruptedException {
+        HistoryManager historyManager = new ConcurrentHistoryManager();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int offset = thread * VIEWS_PER_THREAD;
+            pool.execute(() -> {
+                try {
+                    ready.await();
+                    for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                        historyManager.addToHistory(new Task(offset + i, "Задача", "Описание"));
+                        if (i % 100 == 0) {
+                            historyManager.getHistory();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        ready.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS), "Потоки не завершились вовремя");
+        assertTrue(failures.isEmpty(), "Ошибки в потоках: " + failures);
+
+        List<Task> history = historyManager.getHistory();
+        Set<Integer> ids = new HashSet<>();
+        history.forEach(task -> ids.add(task.getId()));
+        assertEquals(THREADS * VIEWS_PER_THREAD, history.size(), "Ни один просмотр не должен потеряться");
+        assertEquals(history.size(), ids.size(), "Задачи в истории не должны повторяться");
+        List<Integer> ownOrder = new ArrayList<>();
+        history.stream().map(Task::getId).filter(id -> id < VIEWS_PER_THREAD).forEach(ownOrder::add);
+        for (int i = 1; i < ownOrder.size(); i++) {
+            assertTrue(ownOrder.get(i - 1) < ownOrder.get(i), "Порядок просмотров одного потока должен сохраниться");
+        }
+    }
+}
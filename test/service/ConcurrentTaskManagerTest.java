@@ -0,0 +1,205 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<TaskManager> {
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int SUBTASKS_PER_WRITER = 250;
+    private static final int ATTACH_CYCLES = 1000;
+
+    @Override
+    @BeforeEach
+    public void init() {
+        taskManager = createTaskManager();
+    }
+
+    @Override
+    protected TaskManager createTaskManager() {
+        return Managers.getConcurrent();
+    }
+
+    @Test
+    void concurrentWritesAndReadsShouldKeepInvariants() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Epic> epics = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            epics.add(taskManager.createEpic(new Epic("Epic " + i, "Desc")));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch writersDone = new CountDownLatch(WRITERS);
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int offset = writer;
+            Epic epic = epics.get(writer);
+            pool.execute(() -> {
+                try {
+                    ready.await();
+                    for (int i = 0; i < SUBTASKS_PER_WRITER; i++) {
+                        LocalDateTime slot = start.plusMinutes((long) (i * WRITERS + offset) * 10);
+                        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Desc", epic.getId(),
+                                Duration.ofMinutes(10), slot));
+                        if (i % 2 == 0) {
+                            taskManager.updateSubtask(subtask.getId(), new Subtask(subtask.getId(), "Subtask", "Desc",
+                                    TaskStatus.DONE, epic.getId(), Duration.ofMinutes(5), slot));
+                        }
+                        if (i % 5 == 0) {
+                            taskManager.deleteSubtask(subtask.getId());
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+        for (int reader = 0; reader < READERS; reader++) {
+            pool.execute(() -> {
+                try {
+                    ready.await();
+                    while (writing.get()) {
+                        List<Task> prioritized = taskManager.getPrioritizedTasks();
+                        for (int i = 1; i < prioritized.size(); i++) {
+                            if (prioritized.get(i - 1).getEndTime().isAfter(prioritized.get(i).getStartTime())) {
+                                throw new AssertionError("Пересечение в списке приоритетов");
+                            }
+                        }
+                        taskManager.getByStatus(TaskType.SUBTASK, TaskStatus.DONE);
+                        taskManager.getSubtasksByEpicId(epics.get(0).getId());
+                        taskManager.findFreeSlot(Duration.ofMinutes(30), start, null);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        ready.countDown();
+        assertTrue(writersDone.await(60, TimeUnit.SECONDS), "Писатели должны завершиться");
+        writing.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty(), () -> "Ошибки в потоках: " + failures);
+
+        List<Subtask> subtasks = taskManager.getSubtasks();
+        int expected = WRITERS * (SUBTASKS_PER_WRITER - SUBTASKS_PER_WRITER / 5);
+        assertEquals(expected, subtasks.size());
+        assertEquals(expected, taskManager.getPrioritizedTasks().size(), "Индекс приоритетов должен совпадать с хранилищем");
+        Set<Integer> ids = new HashSet<>();
+        subtasks.forEach(subtask -> assertTrue(ids.add(subtask.getId()), "Идентификаторы должны быть уникальными"));
+
+        for (Epic epic : epics) {
+            List<Subtask> children = taskManager.getSubtasksByEpicId(epic.getId());
+            assertEquals(SUBTASKS_PER_WRITER - SUBTASKS_PER_WRITER / 5, children.size());
+            Epic stored = taskManager.getEpicById(epic.getId()).orElseThrow();
+            LocalDateTime minStart = children.stream().map(Task::getStartTime).min(LocalDateTime::compareTo).orElseThrow();
+            LocalDateTime maxEnd = children.stream().map(Task::getEndTime).max(LocalDateTime::compareTo).orElseThrow();
+            long minutes = children.stream().mapToLong(child -> child.getDuration().toMinutes()).sum();
+            assertEquals(minStart, stored.getStartTime(), "Начало эпика должно совпадать с подзадачами");
+            assertEquals(maxEnd, stored.getEndTime(), "Конец эпика должен совпадать с подзадачами");
+            assertEquals(Duration.ofMinutes(minutes), stored.getDuration());
+            assertEquals(TaskStatus.IN_PROGRESS, stored.getStatus());
+        }
+    }
+
+    @Test
+    void readResultsShouldStayConsistentWhileWritersAttachAndDetachSubtasks() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch writersDone = new CountDownLatch(WRITERS);
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int offset = writer;
+            pool.execute(() -> {
+                try {
+                    ready.await();
+                    for (int i = 0; i < ATTACH_CYCLES; i++) {
+                        LocalDateTime slot = start.plusMinutes((long) (i * WRITERS + offset) * 10);
+                        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Desc", epic.getId(),
+                                Duration.ofMinutes(10), slot));
+                        taskManager.deleteSubtask(subtask.getId());
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+        for (int reader = 0; reader < READERS; reader++) {
+            pool.execute(() -> {
+                try {
+                    ready.await();
+                    Map<Epic, String> held = new IdentityHashMap<>();
+                    while (writing.get()) {
+                        Epic single = taskManager.getEpicById(epic.getId()).orElseThrow();
+                        held.put(single, fingerprint(single));
+                        taskManager.getEpics().forEach(read -> held.put(read, fingerprint(read)));
+                        for (Map.Entry<Epic, String> entry : held.entrySet()) {
+                            Epic read = entry.getKey();
+                            LocalDateTime readStart = read.getStartTime();
+                            LocalDateTime readEnd = read.getEndTime();
+                            if ((readStart == null) != (readEnd == null)
+                                    || readStart != null && readStart.isAfter(readEnd)) {
+                                throw new AssertionError("Эпик прочитан в промежуточном состоянии");
+                            }
+                            if (!entry.getValue().equals(fingerprint(read))) {
+                                throw new AssertionError("Прочитанный эпик изменился после возврата из менеджера");
+                            }
+                        }
+                        if (held.size() > 64) {
+                            held.clear();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        ready.countDown();
+        assertTrue(writersDone.await(60, TimeUnit.SECONDS), "Писатели должны завершиться");
+        writing.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty(), () -> "Ошибки в потоках: " + failures);
+        assertTrue(taskManager.getEpicById(epic.getId()).orElseThrow().getSubtaskIdsByEpic().isEmpty());
+    }
+
+    private static String fingerprint(Epic epic) {
+        return epic + "," + epic.getEndTime() + "," + epic.getSubtaskIdsByEpic();
+    }
+}
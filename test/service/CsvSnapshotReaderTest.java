@@ -0,0 +1,46 @@
+package service;
+
+import model.Subtask;
+import model.Task;
+import model.TaskType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvSnapshotReaderTest {
+
+    @Test
+    void chunkedParsingShouldKeepAllRowsInFileOrder() {
+        StringBuilder csv = new StringBuilder("id,type,name,status,description,epicId,duration,startTime\r\n");
+        csv.append("1,EPIC,Эпик,NEW,Описание,,0,null\r\n");
+        for (int id = 2; id <= 2000; id++) {
+            csv.append(id).append(",SUBTASK,Подзадача ").append(id).append(",NEW,Описание,1,0,null\r\n");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<Task> tasks = CsvSnapshotReader.read(buffer, 512);
+
+        assertEquals(2000, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(i + 1, tasks.get(i).getId(), "Порядок строк должен сохраняться после слияния частей");
+        }
+        Task last = tasks.getLast();
+        assertEquals(TaskType.SUBTASK, last.getTaskType());
+        assertEquals("Подзадача 2000", last.getName());
+        assertEquals(1, ((Subtask) last).getEpicId());
+    }
+
+    @Test
+    void headerOnlyFileShouldProduceNoTasks() {
+        ByteBuffer buffer = ByteBuffer.wrap("id,type,name,status,description,epicId,duration,startTime"
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(CsvSnapshotReader.read(buffer).isEmpty());
+        assertTrue(CsvSnapshotReader.read(ByteBuffer.allocate(0)).isEmpty());
+    }
+}
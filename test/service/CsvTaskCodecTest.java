@@ -0,0 +1,59 @@
+package service;
+
+import model.Subtask;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvTaskCodecTest {
+
+    @Test
+    void encodeShouldKeepPreviousRowLayout() {
+        CsvTaskCodec codec = new CsvTaskCodec();
+        Task task = new Task(1, "Задача", "Описание", TaskStatus.NEW, Duration.ofMinutes(30),
+                LocalDateTime.of(2025, 2, 20, 12, 0));
+        Subtask subtask = new Subtask(3, "Подзадача", "Описание", TaskStatus.DONE, 2, Duration.ZERO, null);
+
+        assertEquals("1,TASK,Задача,NEW,Описание,,30,2025-02-20T12:00", codec.encode(task).toString());
+        assertEquals("3,SUBTASK,Подзадача,DONE,Описание,2,0,null", codec.encode(subtask).toString());
+    }
+
+    @Test
+    void separatorsInTextFieldsShouldSurviveRoundTrip() {
+        CsvTaskCodec codec = new CsvTaskCodec();
+        Subtask subtask = new Subtask(7, "Купить молоко, хлеб", "Строка 1\r\nСтрока 2, \\конец\\",
+                TaskStatus.IN_PROGRESS, 4, Duration.ofMinutes(15), LocalDateTime.of(2025, 3, 1, 9, 5, 7, 120_000_000));
+
+        String row = codec.encode(subtask).toString();
+        assertFalse(row.contains("\n"), "Запись должна занимать одну физическую строку");
+        Subtask decoded = (Subtask) CsvTaskCodec.decode(row);
+
+        assertEquals(TaskType.SUBTASK, decoded.getTaskType());
+        assertEquals(subtask.getName(), decoded.getName());
+        assertEquals(subtask.getDescription(), decoded.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, decoded.getStatus());
+        assertEquals(4, decoded.getEpicId());
+        assertEquals(Duration.ofMinutes(15), decoded.getDuration());
+        assertEquals(subtask.getStartTime(), decoded.getStartTime());
+    }
+
+    @Test
+    void decodeShouldAcceptLegacyRows() {
+        Task task = CsvTaskCodec.decode("5,TASK,Задача,NEW,Описание,,null,null");
+
+        assertEquals(5, task.getId());
+        assertEquals(Duration.ZERO, task.getDuration());
+        assertNull(task.getStartTime());
+        assertThrows(IllegalArgumentException.class, () -> CsvTaskCodec.decode("5,TASK,Задача"));
+        assertThrows(IllegalArgumentException.class, () -> CsvTaskCodec.decode("x,TASK,Задача,NEW,Описание,,0,null"));
+    }
+}
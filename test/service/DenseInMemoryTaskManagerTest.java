@@ -0,0 +1,84 @@
+package service;
+
+import model.Epic;
+import model.Task;
+import model.TaskStatus;
+import model.TaskType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DenseInMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
+
+    @Override
+    @BeforeEach
+    public void init() {
+        taskManager = createTaskManager();
+    }
+
+    @Override
+    public InMemoryTaskManager createTaskManager() {
+        return new InMemoryTaskManager(Managers.getDefaultHistory(), TaskStoreType.DENSE_ARRAY);
+    }
+
+    @Test
+    void denseMapShouldBehaveLikeMapForSparseIds() {
+        Map<Integer, String> map = new DenseIdMap<>();
+        map.put(3, "three");
+        map.put(1000, "thousand");
+        map.put(1, "one");
+
+        assertEquals(3, map.size());
+        assertEquals("thousand", map.get(1000));
+        assertNull(map.get(2));
+        assertNull(map.get(-1));
+        assertEquals(List.of(1, 3, 1000), List.copyOf(map.keySet()), "Обход должен идти по возрастанию id");
+
+        Iterator<String> values = map.values().iterator();
+        values.next();
+        values.remove();
+        assertFalse(map.containsKey(1));
+        assertEquals(2, map.size());
+        assertThrows(IllegalArgumentException.class, () -> map.put(-5, "negative"));
+    }
+
+    @Test
+    void managerShouldReuseDenseStoreAfterClear() {
+        taskManager.createTask(new Task("Task 1", "Desc"));
+        taskManager.deleteTasks();
+        Task task = taskManager.createTask(new Task("Task 2", "Desc"));
+
+        assertEquals(List.of(task), taskManager.getTasks());
+        assertEquals("Task 2", taskManager.getTaskById(task.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void typedViewsShouldShareOneTableAndShrinkAfterDeletes() {
+        DenseIdMap.Table table = new DenseIdMap.Table();
+        Map<Integer, Task> tasks = new DenseIdMap<>(table, TaskType.TASK);
+        Map<Integer, Epic> epics = new DenseIdMap<>(table, TaskType.EPIC);
+        for (int id = 1; id <= 1000; id++) {
+            tasks.put(id, new Task(id, "Task", "Desc"));
+        }
+        epics.put(1001, new Epic(1001, "Epic", "Desc", TaskStatus.NEW));
+
+        assertNull(tasks.get(1001), "Чужой тип не должен быть виден через представление");
+        assertEquals(List.of(1001), List.copyOf(epics.keySet()));
+        assertThrows(IllegalArgumentException.class, () -> tasks.put(1001, new Task(1001, "Task", "Desc")),
+                "Слот другого типа не должен перезаписываться");
+
+        epics.clear();
+        tasks.keySet().removeIf(id -> id > 1);
+        assertEquals(1, tasks.size());
+        assertTrue(table.capacity() < 100, "Пустой хвост таблицы должен освобождаться");
+    }
+}
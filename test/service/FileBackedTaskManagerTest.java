@@ -1,5 +1,6 @@
 package service;
 
+import exceptions.InvalidTaskTimeException;
 import exceptions.ManagerCreateFileException;
 import model.Epic;
 import model.Subtask;
@@ -12,13 +13,21 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
@@ -44,7 +53,11 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
     @AfterEach
     void clean() {
         try {
+            taskManager.close();
             Files.delete(tempFile.toPath());
+            Files.deleteIfExists(journalFile().toPath());
+            Files.deleteIfExists(Path.of(tempFile.getPath() + ".journal.old"));
+            Files.deleteIfExists(Path.of(tempFile.getPath() + ".history"));
         } catch (IOException e) {
             throw new RuntimeException("Не удалось удалить временный файл: " + tempFile.getAbsolutePath());
         }
@@ -175,6 +188,490 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         assertTrue(inputString.contains("SUBTASK"));
     }
 
+    @Test
+    void testJournalModeAppendsRecordsInsteadOfRewritingSnapshot() throws IOException {
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageMode.JOURNAL);
+        taskManager.createTask(new Task("Task 1", "Description 1"));
+        String snapshotAfterFirstWrite = Files.readString(tempFile.toPath());
+        Epic epic = taskManager.createEpic(new Epic("Epic 1", "Description 2"));
+        taskManager.createSubtask(new Subtask("Subtask 1", "Description 3", epic.getId()));
+
+        assertEquals(snapshotAfterFirstWrite, Files.readString(tempFile.toPath()), "Снимок не должен перезаписываться в режиме журнала");
+        List<String> records = Files.readAllLines(journalFile().toPath());
+        assertEquals(3, records.size(), "Каждое изменение должно добавлять одну запись в журнал");
+        assertTrue(records.get(2).startsWith("PUT,3,SUBTASK,Subtask 1"));
+    }
+
+    @Test
+    void testScheduledPlacementsArePersisted() {
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageMode.JOURNAL);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Epic epic = taskManager.createEpic(new Epic("Epic 1", "Description 1"));
+        taskManager.createTask(new Task("Task 1", "Description 2", Duration.ofMinutes(30), null));
+        taskManager.createSubtask(new Subtask("Subtask 1", "Description 3", epic.getId(), Duration.ofMinutes(15), null));
+        taskManager.schedule(ScheduleRequest.firstFit(start));
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, StorageMode.JOURNAL);
+
+        assertEquals(taskManager.getPrioritizedTasks(), loadedManager.getPrioritizedTasks());
+        assertEquals(start.plusMinutes(30), loadedManager.getSubtasks().getFirst().getStartTime());
+        assertEquals(start.plusMinutes(45), loadedManager.getEpics().getFirst().getEndTime(),
+                "Время эпика должно восстановиться из запланированной подзадачи");
+        loadedManager.close();
+    }
+
+    @Test
+    void testJournalReplayRestoresStateWithOriginalIds() {
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageMode.JOURNAL);
+        Task task = taskManager.createTask(new Task("Task 1", "Description 1"));
+        Task removedTask = taskManager.createTask(new Task("Task 2", "Description 2"));
+        Epic epic = taskManager.createEpic(new Epic("Epic 1", "Description 3"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask 1", epic.getId(), "Description 4", TaskStatus.NEW));
+        taskManager.deleteTask(removedTask.getId());
+        taskManager.updateSubtask(subtask.getId(), new Subtask(subtask.getId(), "Subtask 1", "Done", TaskStatus.DONE, epic.getId()));
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, StorageMode.JOURNAL);
+
+        assertEquals(List.of(task), loadedManager.getTasks());
+        assertEquals(taskManager.getSubtasks(), loadedManager.getSubtasks());
+        assertEquals(TaskStatus.DONE, loadedManager.getEpics().getFirst().getStatus(), "Статус эпика должен пересчитываться при воспроизведении журнала");
+        Task created = loadedManager.createTask(new Task("Task 3", "Description 5"));
+        assertEquals(5, created.getId(), "Генератор id должен продолжать нумерацию после воспроизведения журнала");
+        loadedManager.close();
+    }
+
+    @Test
+    void testSnapshotModeLoadFoldsJournalIntoSnapshot() {
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageMode.JOURNAL);
+        taskManager.createTask(new Task("Task 1", "Description 1"));
+        taskManager.createTask(new Task("Task 2", "Description 2"));
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+
+        assertFalse(journalFile().exists(), "Журнал должен быть свернут в снимок");
+        assertEquals(taskManager.getTasks(), FileBackedTaskManager.loadFromFile(tempFile).getTasks());
+        assertEquals(2, loadedManager.getTasks().size());
+    }
+
+    @Test
+    void testGroupCommitAndAsyncJournalsPersistAllRecords() {
+        for (Durability durability : List.of(Durability.FSYNC_PER_OPERATION, Durability.GROUP_FSYNC, Durability.ASYNC)) {
+            StorageConfig config = StorageConfig.journal(durability).withGroupCommit(2, 4);
+            taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+            for (int i = 0; i < 10; i++) {
+                taskManager.createTask(new Task("Task " + i, "Description " + i));
+            }
+            taskManager.close();
+
+            FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+            assertEquals(10, loadedManager.getTasks().size(), "Записи журнала потеряны в режиме " + durability);
+            loadedManager.close();
+        }
+    }
+
+    @Test
+    void testGroupCommitBatchesConcurrentWritesThroughManager() throws Exception {
+        StorageConfig config = StorageConfig.journal(Durability.GROUP_FSYNC).withGroupCommit(1000, 512);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        long started = System.nanoTime();
+        taskManager.createTask(new Task("Single", "Description"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 500,
+                "Одиночная запись не должна ждать всё окно группового коммита");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    taskManager.createTask(new Task("Task " + i, "Description"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        long commits = taskManager.journalCommits();
+        assertTrue(commits < 401, "Записи менеджера должны объединяться в группы, коммитов: " + commits);
+        taskManager.close();
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+        assertEquals(401, loadedManager.getTasks().size());
+        loadedManager.close();
+    }
+
+    @Test
+    void testWriteBehindCoalescesMutationsUntilFlush() throws IOException {
+        StorageConfig config = StorageConfig.writeBehind(60_000);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        for (int i = 0; i < 5; i++) {
+            taskManager.createTask(new Task("Task " + i, "Description " + i));
+        }
+
+        assertEquals(0, Files.size(tempFile.toPath()), "Изменения не должны записываться в потоке вызова");
+        assertTrue(taskManager.getPersistenceLagMillis() >= 0);
+
+        taskManager.flush();
+        assertEquals(6, Files.readAllLines(tempFile.toPath()).size(), "flush должен записать все изменения");
+        assertEquals(0, taskManager.getPersistenceLagMillis(), "После flush отставание отсутствует");
+
+        taskManager.createTask(new Task("Task 5", "Description 5"));
+        taskManager.close();
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(6, loadedManager.getTasks().size(), "close не должен терять подтвержденные изменения");
+    }
+
+    @Test
+    void testWriteBehindFlushesInBackground() throws IOException, InterruptedException {
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageConfig.writeBehind(10));
+        taskManager.createTask(new Task("Task", "Description"));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (taskManager.getPersistenceLagMillis() > 0 || Files.size(tempFile.toPath()) == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Фоновый поток не сохранил изменения");
+            Thread.sleep(5);
+        }
+        assertEquals(2, Files.readAllLines(tempFile.toPath()).size());
+    }
+
+    @Test
+    void testCompressedSnapshotIsSmallerAndDetectedOnLoad() throws IOException {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            StorageConfig config = StorageConfig.snapshot().withSnapshotFormat(format).withCompression(true);
+            taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+            for (int i = 0; i < 200; i++) {
+                taskManager.createTask(new Task("Task " + i, "Одинаковое описание задачи", TaskStatus.NEW,
+                        Duration.ofMinutes(10), LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i)));
+            }
+            long compressedSize = Files.size(tempFile.toPath());
+            taskManager.close();
+
+            FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+            assertEquals(taskManager.getTasks(), loadedManager.getTasks(), "Сжатый снимок должен распознаваться по заголовку");
+            loadedManager.checkpoint();
+            assertTrue(compressedSize < Files.size(tempFile.toPath()), "Сжатый снимок должен быть меньше несжатого");
+            loadedManager.close();
+        }
+    }
+
+    @Test
+    void testCompressedJournalFramesReplayAfterPlainRecords() {
+        StorageConfig plain = StorageConfig.journal(Durability.WRITE_THROUGH);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, plain);
+        taskManager.createTask(new Task("Task 0", "Description 0"));
+        taskManager.close();
+
+        StorageConfig compressed = StorageConfig.journal(Durability.GROUP_FSYNC).withCompression(true);
+        taskManager = FileBackedTaskManager.loadFromFile(tempFile, compressed);
+        for (int i = 1; i < 20; i++) {
+            taskManager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        taskManager.deleteTask(1);
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, compressed);
+        assertEquals(19, loadedManager.getTasks().size(), "Сжатые и обычные записи журнала должны воспроизводиться");
+        assertEquals("Task 19", loadedManager.getTaskById(20).map(Task::getName).orElseThrow());
+        loadedManager.close();
+    }
+
+    @Test
+    void testHistoryIsRestoredAfterReload() throws IOException {
+        Task task = taskManager.createTask(new Task("Task", "Description"));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Description"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Description", epic.getId()));
+        Task removed = taskManager.createTask(new Task("Removed", "Description"));
+        taskManager.getTaskById(task.getId());
+        taskManager.getSubtaskById(subtask.getId());
+        taskManager.getTaskById(removed.getId());
+        taskManager.getEpicById(epic.getId());
+        taskManager.getTaskById(task.getId());
+        taskManager.deleteTask(removed.getId());
+        taskManager.close();
+
+        assertEquals(List.of("1", "3", "4", "2", "1", "-4"),
+                Files.readAllLines(Path.of(tempFile.getPath() + ".history")), "История хранится как журнал идентификаторов");
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+        List<Task> history = loadedManager.getAllTasksInHistoryList();
+        assertEquals(List.of(subtask.getId(), epic.getId(), task.getId()), history.stream().map(Task::getId).toList(),
+                "Порядок просмотров должен сохраниться после перезапуска");
+        assertEquals(List.of("3", "2", "1"), Files.readAllLines(Path.of(tempFile.getPath() + ".history")),
+                "Журнал истории должен сжиматься при загрузке");
+
+        loadedManager.getSubtaskById(subtask.getId());
+        loadedManager.close();
+        FileBackedTaskManager reloadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(List.of(epic.getId(), task.getId(), subtask.getId()),
+                reloadedManager.getAllTasksInHistoryList().stream().map(Task::getId).toList());
+        reloadedManager.close();
+    }
+
+    @Test
+    void testOpeningManagerOnExistingFileKeepsHistory() throws IOException {
+        Task task = taskManager.createTask(new Task("Task", "Description"));
+        taskManager.getTaskById(task.getId());
+        taskManager.close();
+
+        new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile).close();
+
+        assertEquals(List.of(String.valueOf(task.getId())), Files.readAllLines(Path.of(tempFile.getPath() + ".history")),
+                "Создание менеджера не должно удалять сохранённую историю");
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(List.of(task.getId()), loadedManager.getAllTasksInHistoryList().stream().map(Task::getId).toList());
+        loadedManager.close();
+    }
+
+    @Test
+    void testConcurrentViewsAreLoggedSafely() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(taskManager.createTask(new Task("Task " + i, "Description")).getId());
+        }
+        TaskManager concurrentManager = new ConcurrentTaskManager(taskManager);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    concurrentManager.getTaskById(ids.get(i % ids.size()));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertEquals(ids.size(), concurrentManager.getAllTasksInHistoryList().size());
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(ids.size(), loadedManager.getAllTasksInHistoryList().size(),
+                "Журнал истории не должен повреждаться при параллельных просмотрах");
+        loadedManager.close();
+    }
+
+    @Test
+    void testCheckpointWritesSnapshotAndTruncatesJournal() throws IOException {
+        StorageConfig config = StorageConfig.journal(Durability.WRITE_THROUGH).withCheckpointEvery(5);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        for (int i = 0; i < 12; i++) {
+            taskManager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        taskManager.checkpoint().join();
+
+        assertEquals(13, Files.readAllLines(tempFile.toPath()).size(), "Снимок должен содержать все задачи");
+        assertFalse(journalFile().exists(), "Журнал, покрытый снимком, должен быть удален");
+        assertFalse(new File(tempFile.getPath() + ".journal.old").exists());
+
+        taskManager.createTask(new Task("Task 12", "Description 12"));
+        assertEquals(1, Files.readAllLines(journalFile().toPath()).size(), "После снимка журнал содержит только хвост");
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+        assertEquals(13, loadedManager.getTasks().size());
+        loadedManager.close();
+    }
+
+    @Test
+    void testWritesDuringCheckpointAreNotLost() throws Exception {
+        StorageConfig config = StorageConfig.journal(Durability.WRITE_THROUGH);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    taskManager.createTask(new Task("Task", "Description"));
+                }
+            }));
+        }
+        while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+            taskManager.checkpoint().join();
+        }
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+        assertEquals(800, loadedManager.getTasks().size(), "Записи, сделанные во время снимка, не должны теряться");
+        loadedManager.close();
+    }
+
+    @Test
+    void testTornLastJournalRecordIsDropped() throws IOException {
+        for (String tail : List.of("PUT,2,TASK,B,NEW,d,,30,2025-02-20T1", "PUT,2,TASK,B,NEW,d,,3")) {
+            taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageMode.JOURNAL);
+            taskManager.createTask(new Task("Task 1", "Description 1"));
+            taskManager.close();
+            Files.writeString(journalFile().toPath(), tail, StandardOpenOption.APPEND);
+
+            FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, StorageMode.JOURNAL);
+
+            assertEquals(1, loadedManager.getTasks().size(), "Оборванная запись не должна применяться: " + tail);
+            assertEquals("Task 1", loadedManager.getTasks().getFirst().getName());
+            loadedManager.close();
+            Files.deleteIfExists(journalFile().toPath());
+            Files.writeString(tempFile.toPath(), "");
+        }
+    }
+
+    @Test
+    void testLoadReplaysJournalLeftByInterruptedCheckpoint() throws IOException {
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageMode.JOURNAL);
+        taskManager.createTask(new Task("Task 1", "Description 1"));
+        taskManager.createTask(new Task("Task 2", "Description 2"));
+        taskManager.close();
+        File checkpointedJournal = new File(tempFile.getPath() + ".journal.old");
+        Files.move(journalFile().toPath(), checkpointedJournal.toPath());
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, StorageMode.JOURNAL);
+        Files.writeString(journalFile().toPath(), "DEL,TASK,1" + System.lineSeparator());
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+
+        assertEquals(1, loadedManager.getTasks().size());
+        assertEquals("Task 2", loadedManager.getTasks().getFirst().getName());
+        assertFalse(checkpointedJournal.exists(), "Журналы должны быть свернуты в снимок");
+    }
+
+    @Test
+    void testReplayOfCheckpointedJournalOverNewerSnapshot() throws IOException {
+        StorageConfig config = StorageConfig.journal(Durability.WRITE_THROUGH);
+        LocalDateTime nine = LocalDateTime.of(2025, 3, 1, 9, 0);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        Task moved = taskManager.createTask(new Task("Moved", "Description", Duration.ofMinutes(60), nine));
+        taskManager.updateTask(moved.getId(), new Task(moved.getId(), "Moved", "Description", TaskStatus.NEW,
+                Duration.ofMinutes(60), nine.plusHours(2)));
+        Task taken = taskManager.createTask(new Task("Taken", "Description", Duration.ofMinutes(60), nine));
+        taskManager.close();
+        byte[] journal = Files.readAllBytes(journalFile().toPath());
+        FileBackedTaskManager.loadFromFile(tempFile).close();
+        Files.write(Path.of(tempFile.getPath() + ".journal.old"), journal);
+
+        taskManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+        assertEquals(nine.plusHours(2), taskManager.getTaskById(moved.getId()).orElseThrow().getStartTime(),
+                "Старые записи журнала не должны конфликтовать с более новым снимком");
+        assertEquals(nine, taskManager.getTaskById(taken.getId()).orElseThrow().getStartTime());
+    }
+
+    @Test
+    void testBinarySnapshotSaveAndLoad() throws IOException {
+        StorageConfig config = StorageConfig.snapshot().withSnapshotFormat(SnapshotFormat.BINARY);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        taskManager.createTask(new Task("Задача, с запятой", "Описание 1", Duration.ofMinutes(30), LocalDateTime.of(2025, 2, 20, 12, 30)));
+        taskManager.createTask(new Task("Task 2", "Description 2"));
+        Epic epic = taskManager.createEpic(new Epic("Epic 1", "Description 3"));
+        taskManager.createSubtask(new Subtask("Subtask", "Description 4", epic.getId(), Duration.ofMinutes(45), LocalDateTime.of(2025, 2, 21, 9, 0)));
+
+        byte[] content = Files.readAllBytes(tempFile.toPath());
+        assertEquals('K', content[0], "Бинарный снимок должен начинаться с сигнатуры");
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+
+        assertEquals(taskManager.getTasks(), loadedManager.getTasks());
+        assertEquals(taskManager.getSubtasks(), loadedManager.getSubtasks());
+        Task loadedTask = loadedManager.getTasks().stream().filter(task -> task.getStartTime() != null).findFirst().orElseThrow();
+        assertEquals("Задача, с запятой", loadedTask.getName());
+        assertEquals(LocalDateTime.of(2025, 2, 20, 12, 30), loadedTask.getStartTime());
+        assertEquals(Duration.ofMinutes(30), loadedTask.getDuration());
+        Epic loadedEpic = loadedManager.getEpics().getFirst();
+        assertEquals(LocalDateTime.of(2025, 2, 21, 9, 0), loadedEpic.getStartTime(), "Время эпика должно пересчитываться при загрузке");
+    }
+
+    @Test
+    void testBinarySnapshotKeepsSeconds() {
+        StorageConfig config = StorageConfig.snapshot().withSnapshotFormat(SnapshotFormat.BINARY);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        LocalDateTime start = LocalDateTime.of(2025, 2, 20, 12, 30, 15);
+        taskManager.createTask(new Task("Task 1", "Description", Duration.ofSeconds(45), start));
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+        Task loaded = loadedManager.getTasks().getFirst();
+
+        assertEquals(start, loaded.getStartTime(), "Секунды начала должны сохраняться в бинарном снимке");
+        assertEquals(Duration.ofSeconds(45), loaded.getDuration());
+        assertEquals(start.plusSeconds(45), loaded.getEndTime());
+        assertFalse(loadedManager.validateTask(new Task("Task 2", "Description", Duration.ofSeconds(10), start.plusSeconds(30))),
+                "Короткая задача после загрузки должна занимать свой интервал");
+        loadedManager.close();
+    }
+
+    @Test
+    void testBinarySnapshotKeepsIdGeneratorAfterDeletingNewestTask() {
+        StorageConfig config = StorageConfig.snapshot().withSnapshotFormat(SnapshotFormat.BINARY);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        taskManager.createTask(new Task("Task 1", "Description"));
+        Task removed = taskManager.createTask(new Task("Task 2", "Description"));
+        taskManager.deleteTask(removed.getId());
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+        Task created = loadedManager.createTask(new Task("Task 3", "Description"));
+
+        assertEquals(removed.getId() + 1, created.getId(), "Идентификатор удалённой задачи не должен переиспользоваться");
+        loadedManager.close();
+    }
+
+    @Test
+    void testJournalCheckpointInBinaryFormat() {
+        StorageConfig config = StorageConfig.journal(Durability.WRITE_THROUGH).withSnapshotFormat(SnapshotFormat.BINARY);
+        taskManager = new FileBackedTaskManager(Managers.getDefaultHistory(), tempFile, config);
+        for (int i = 0; i < 5; i++) {
+            taskManager.createTask(new Task("Task " + i, "Description " + i));
+        }
+        taskManager.checkpoint().join();
+        taskManager.createTask(new Task("Task 5", "Description 5"));
+        taskManager.close();
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile, config);
+        assertEquals(6, loadedManager.getTasks().size());
+        loadedManager.close();
+    }
+
+    @Test
+    void testBulkLoadKeepsSparseIdsAndDoesNotRewriteFile() throws IOException {
+        String content = String.join(System.lineSeparator(),
+                "id,type,name,status,description,epicId,duration,startTime",
+                "4,TASK,Task 4,NEW,Description,,30,2025-02-20T10:00",
+                "7,EPIC,Epic 7,NEW,Description,,0,null",
+                "9,SUBTASK,Subtask 9,DONE,Description,7,60,2025-02-20T10:30",
+                "12,SUBTASK,Subtask 12,DONE,Description,7,0,null") + System.lineSeparator();
+        Files.writeString(tempFile.toPath(), content);
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tempFile);
+
+        assertEquals(content, Files.readString(tempFile.toPath()), "Загрузка не должна перезаписывать файл");
+        assertEquals(2, loadedManager.getSubtasksByEpicId(7).size(), "Подзадачи должны быть привязаны к эпику по исходным id");
+        Epic epic = loadedManager.getEpics().getFirst();
+        assertEquals(TaskStatus.DONE, epic.getStatus());
+        assertEquals(LocalDateTime.of(2025, 2, 20, 10, 30), epic.getStartTime());
+        assertEquals(Duration.ofMinutes(60), epic.getDuration());
+        assertEquals(2, loadedManager.getPrioritizedTasks().size());
+        assertEquals(13, loadedManager.createTask(new Task("Task 13", "Description")).getId());
+    }
+
+    @Test
+    void testBulkLoadRejectsOverlappingRows() throws IOException {
+        Files.writeString(tempFile.toPath(), String.join(System.lineSeparator(),
+                "id,type,name,status,description,epicId,duration,startTime",
+                "1,TASK,Task 1,NEW,Description,,60,2025-02-20T10:00",
+                "2,EPIC,Epic 2,NEW,Description,,0,null",
+                "3,SUBTASK,Subtask 3,NEW,Description,2,0,2025-02-20T10:00",
+                "4,SUBTASK,Subtask 4,NEW,Description,2,15,2025-02-20T10:45"));
+
+        assertThrows(InvalidTaskTimeException.class, () -> FileBackedTaskManager.loadFromFile(tempFile));
+    }
+
+    private File journalFile() {
+        return new File(tempFile.getPath() + ".journal");
+    }
+
     @Override
     @Test
     void addTasksOfDifferentTypesAndCanFindThemById() {
@@ -0,0 +1,80 @@
+package service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JournalWriterTest {
+    private Path journalPath;
+
+    @BeforeEach
+    void init() throws IOException {
+        journalPath = Files.createTempFile("journal", ".log");
+    }
+
+    @AfterEach
+    void clean() throws IOException {
+        Files.deleteIfExists(journalPath);
+    }
+
+    @Test
+    void groupCommitShouldMakeEveryAcknowledgedRecordDurable() throws Exception {
+        JournalWriter writer = new JournalWriter(journalPath, false, StorageConfig.journal(Durability.GROUP_FSYNC));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int threadId = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    writer.append((threadId + ":" + i + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Set<String> records = new HashSet<>(Files.readAllLines(journalPath));
+        assertEquals(400, records.size(), "Все подтвержденные записи должны быть в файле до закрытия журнала");
+        writer.close();
+    }
+
+    @Test
+    void asyncJournalShouldFlushPendingRecordsOnClose() throws IOException {
+        JournalWriter writer = new JournalWriter(journalPath, false,
+                StorageConfig.journal(Durability.ASYNC).withGroupCommit(1000, 1000));
+        for (int i = 0; i < 100; i++) {
+            writer.append((i + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        writer.close();
+
+        List<String> records = Files.readAllLines(journalPath);
+        assertEquals(100, records.size());
+        assertEquals("99", records.getLast(), "Порядок записей должен сохраняться");
+    }
+
+    @Test
+    void appendAfterCloseShouldFail() throws IOException {
+        JournalWriter writer = new JournalWriter(journalPath, false, StorageConfig.journal(Durability.WRITE_THROUGH));
+        writer.close();
+
+        assertThrows(IOException.class, () -> writer.append("1\n".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -6,6 +6,7 @@ import model.Epic;
 import model.Subtask;
 import model.Task;
 import model.TaskStatus;
+import model.TaskType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -13,10 +14,12 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public abstract class TaskManagerTest<T extends TaskManager> {
     protected T taskManager;
@@ -426,6 +429,346 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertThrows(InvalidTaskTimeException.class, () -> taskManager.createTask(task5), "Задача пересекается с существующей");
     }
 
+    @Test
+    void findConflictsShouldReturnOnlyOverlappingTasks() {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 20, 12, 0);
+        Task first = taskManager.createTask(new Task("Task 1", "Desc", Duration.ofMinutes(30), start));
+        Task second = taskManager.createTask(new Task("Task 2", "Desc", Duration.ofMinutes(30), start.plusMinutes(30)));
+        Task third = taskManager.createTask(new Task("Task 3", "Desc", Duration.ofMinutes(30), start.plusMinutes(90)));
+
+        assertEquals(List.of(first, second), taskManager.findConflicts(start.plusMinutes(10), start.plusMinutes(40)));
+        assertEquals(List.of(third), taskManager.findConflicts(start.plusMinutes(100), start.plusMinutes(101)));
+        assertTrue(taskManager.findConflicts(start.plusMinutes(60), start.plusMinutes(90)).isEmpty(),
+                "Соседние интервалы не пересекаются");
+    }
+
+    @Test
+    void tasksWithSameStartTimeShouldAllBePrioritized() {
+        LocalDateTime start = LocalDateTime.of(2025, 2, 20, 12, 0);
+        taskManager.createTask(new Task("Point", "Desc", Duration.ZERO, start));
+        taskManager.createTask(new Task("Task", "Desc", Duration.ofMinutes(30), start));
+
+        assertEquals(2, taskManager.getPrioritizedTasks().size(), "Задачи с одинаковым началом не должны теряться");
+        assertThrows(InvalidTaskTimeException.class,
+                () -> taskManager.createTask(new Task("Inside", "Desc", Duration.ZERO, start.plusMinutes(10))));
+    }
+
+    @Test
+    void epicSubtaskIndexShouldFollowUpdates() {
+        Epic first = taskManager.createEpic(new Epic("Epic 1", "Desc"));
+        Epic second = taskManager.createEpic(new Epic("Epic 2", "Desc"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Desc", first.getId()));
+
+        taskManager.updateEpic(first.getId(), new Epic("Epic 1 renamed", "Desc"));
+        assertEquals(List.of(subtask), taskManager.getSubtasksByEpicId(first.getId()),
+                "Обновление эпика не должно терять его подзадачи");
+
+        taskManager.updateSubtask(subtask.getId(),
+                new Subtask(subtask.getId(), "Subtask", "Desc", TaskStatus.IN_PROGRESS, second.getId()));
+        assertTrue(taskManager.getSubtasksByEpicId(first.getId()).isEmpty());
+        assertEquals(List.of(subtask), taskManager.getSubtasksByEpicId(second.getId()));
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicById(second.getId()).orElseThrow().getStatus());
+
+        taskManager.deleteEpic(second.getId());
+        assertTrue(taskManager.getSubtasks().isEmpty(), "Удаление эпика должно удалить его подзадачи");
+    }
+
+    @Test
+    void epicTimeAndStatusShouldFollowSubtaskChanges() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask early = taskManager.createSubtask(new Subtask("Early", "Desc", epic.getId(), Duration.ofMinutes(30), start));
+        Subtask late = taskManager.createSubtask(new Subtask("Late", "Desc", epic.getId(), Duration.ofMinutes(60), start.plusHours(2)));
+
+        taskManager.updateSubtask(late.getId(), new Subtask(late.getId(), "Late", "Desc", TaskStatus.DONE,
+                epic.getId(), Duration.ofMinutes(15), start.plusHours(3)));
+        Epic updated = taskManager.getEpicById(epic.getId()).orElseThrow();
+        assertEquals(start, updated.getStartTime());
+        assertEquals(start.plusHours(3).plusMinutes(15), updated.getEndTime());
+        assertEquals(Duration.ofMinutes(45), updated.getDuration());
+        assertEquals(TaskStatus.IN_PROGRESS, updated.getStatus());
+
+        taskManager.deleteSubtask(early.getId());
+        updated = taskManager.getEpicById(epic.getId()).orElseThrow();
+        assertEquals(start.plusHours(3), updated.getStartTime(), "Начало эпика должно сдвинуться после удаления");
+        assertEquals(Duration.ofMinutes(15), updated.getDuration());
+        assertEquals(TaskStatus.DONE, updated.getStatus());
+    }
+
+    @Test
+    void statusIndexShouldFollowMutationsAndDerivedEpicStatus() {
+        Task task = taskManager.createTask(new Task("Task", "Desc", TaskStatus.IN_PROGRESS));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask first = taskManager.createSubtask(new Subtask("First", epic.getId(), "Desc", TaskStatus.NEW));
+        Subtask second = taskManager.createSubtask(new Subtask("Second", epic.getId(), "Desc", TaskStatus.DONE));
+
+        assertEquals(List.of(task), taskManager.getByStatus(TaskType.TASK, TaskStatus.IN_PROGRESS));
+        assertEquals(List.of(first), taskManager.getByStatus(TaskType.SUBTASK, TaskStatus.NEW));
+        assertEquals(List.of(epic), taskManager.getByStatus(TaskType.EPIC, TaskStatus.IN_PROGRESS),
+                "Статус эпика должен индексироваться по вычисленному значению");
+
+        taskManager.updateSubtask(first.getId(), new Subtask(first.getId(), "First", "Desc", TaskStatus.DONE, epic.getId()));
+        assertEquals(List.of(first, second), taskManager.getByStatus(TaskType.SUBTASK, TaskStatus.DONE));
+        assertTrue(taskManager.getByStatus(TaskType.SUBTASK, TaskStatus.NEW).isEmpty());
+        assertEquals(List.of(epic), taskManager.getByStatus(TaskType.EPIC, TaskStatus.DONE));
+        assertTrue(taskManager.getByStatus(TaskType.EPIC, TaskStatus.IN_PROGRESS).isEmpty());
+
+        taskManager.deleteTask(task.getId());
+        taskManager.deleteSubtask(second.getId());
+        assertTrue(taskManager.getByStatus(TaskType.TASK, TaskStatus.IN_PROGRESS).isEmpty());
+        assertEquals(List.of(first), taskManager.getByStatus(TaskType.SUBTASK, TaskStatus.DONE));
+
+        taskManager.deleteEpics();
+        assertTrue(taskManager.getByStatus(TaskType.EPIC, TaskStatus.DONE).isEmpty());
+        assertTrue(taskManager.getByStatus(TaskType.SUBTASK, TaskStatus.DONE).isEmpty());
+    }
+
+    @Test
+    void searchIndexShouldFollowUpdatesAndDeletes() {
+        Task task = taskManager.createTask(new Task("Созвон с клиентом", "Обсудить договор"));
+        Epic epic = taskManager.createEpic(new Epic("Релиз", "Подготовить договор поставки"));
+
+        assertEquals(List.of(task, epic), taskManager.search("ДОГОВОР", 0, 10));
+        assertEquals(List.of(task), taskManager.search("созвон договор", 0, 10), "Все слова запроса должны совпасть");
+
+        taskManager.updateTask(task.getId(), new Task(task.getId(), "Созвон с командой", "Ретроспектива"));
+        assertEquals(List.of(epic), taskManager.search("договор", 0, 10));
+        assertEquals(List.of(task), taskManager.search("ретро", 0, 10));
+
+        taskManager.deleteEpic(epic.getId());
+        assertTrue(taskManager.search("договор", 0, 10).isEmpty());
+    }
+
+    @Test
+    void prioritizedWindowShouldKeepTasksWithSameStartTime() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 10, 0);
+        Task before = taskManager.createTask(new Task("Before", "Desc", Duration.ofMinutes(30), start.minusMinutes(45)));
+        Task marker = taskManager.createTask(new Task("Marker", "Desc", Duration.ZERO, start));
+        Task main = taskManager.createTask(new Task("Main", "Desc", Duration.ofMinutes(60), start));
+        Task after = taskManager.createTask(new Task("After", "Desc", Duration.ofMinutes(30), start.plusHours(2)));
+
+        assertEquals(List.of(marker, main), taskManager.getPrioritizedTasks(start, start.plusHours(1)),
+                "Задачи с одинаковым временем начала не должны теряться");
+        assertEquals(List.of(main), taskManager.getPrioritizedTasks(start.plusMinutes(30), start.plusHours(2)));
+        assertEquals(List.of(before, marker, main), taskManager.getPrioritizedTasks(null, start.plusMinutes(1)));
+        assertEquals(List.of(after), taskManager.getPrioritizedTasks(start.plusHours(1), null));
+    }
+
+    @Test
+    void freeSlotShouldSkipBusyIntervalsAndRespectUpperBound() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        taskManager.createTask(new Task("Morning", "Desc", Duration.ofMinutes(60), start));
+        taskManager.createTask(new Task("Standup", "Desc", Duration.ofMinutes(30), start.plusMinutes(90)));
+        taskManager.createTask(new Task("Lunch", "Desc", Duration.ofMinutes(60), start.plusHours(3)));
+
+        assertEquals(Optional.of(start.plusHours(2)),
+                taskManager.findFreeSlot(Duration.ofMinutes(60), start.plusMinutes(30), null),
+                "Слот должен начинаться после ближайшей занятой задачи");
+        assertEquals(Optional.of(start.plusHours(1)),
+                taskManager.findFreeSlot(Duration.ofMinutes(30), start.plusMinutes(30), null));
+        assertEquals(Optional.of(start.plusHours(4)),
+                taskManager.findFreeSlot(Duration.ofMinutes(90), start, null));
+        assertTrue(taskManager.findFreeSlot(Duration.ofMinutes(90), start, start.plusHours(5)).isEmpty(),
+                "Слот не должен выходить за верхнюю границу");
+    }
+
+    @Test
+    void scheduleShouldPackUnscheduledTasksIntoGaps() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Task busy = taskManager.createTask(new Task("Busy", "Desc", Duration.ofMinutes(60), start.plusMinutes(30)));
+        Task longTask = taskManager.createTask(new Task("Long", "Desc", Duration.ofMinutes(45), null));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask shortSubtask = taskManager.createSubtask(new Subtask("Short", "Desc", epic.getId(), Duration.ofMinutes(30), null));
+
+        ScheduleResult preview = taskManager.schedule(ScheduleRequest.firstFit(start).withDryRun(true));
+        assertEquals(List.of(start.plusMinutes(90), start),
+                preview.scheduled().stream().map(Task::getStartTime).toList(),
+                "Длинная задача не помещается в первый промежуток и уходит после занятого интервала");
+        assertTrue(preview.unscheduled().isEmpty());
+        assertEquals(1, taskManager.getPrioritizedTasks().size(), "Пробный запуск не должен менять задачи");
+
+        ScheduleResult result = taskManager.schedule(ScheduleRequest.firstFit(start));
+        assertEquals(preview.scheduled(), result.scheduled());
+        assertEquals(List.of(busy.getId()), taskManager.schedule(new ScheduleRequest(List.of(busy.getId()), start, null,
+                SchedulingStrategy.FIRST_FIT, null, true)).unscheduled(), "Уже запланированная задача не переносится");
+        assertEquals(3, taskManager.getPrioritizedTasks().size());
+        assertEquals(start.plusMinutes(90), taskManager.getTaskById(longTask.getId()).orElseThrow().getStartTime());
+        assertEquals(start, taskManager.getEpicById(epic.getId()).orElseThrow().getStartTime(),
+                "Время эпика должно пересчитаться после планирования подзадачи");
+        assertEquals(shortSubtask.getId(), taskManager.getPrioritizedTasks().get(0).getId());
+    }
+
+    @Test
+    void scheduleWindowShouldRespectTaskStartedBeforeNotBefore() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        taskManager.createTask(new Task("Early", "Desc", Duration.ofMinutes(60), start));
+        taskManager.createTask(new Task("Late", "Desc", Duration.ofMinutes(30), start.plusMinutes(90)));
+        Task fits = taskManager.createTask(new Task("Fits", "Desc", Duration.ofMinutes(30), null));
+        Task tooLong = taskManager.createTask(new Task("Too long", "Desc", Duration.ofMinutes(45), null));
+
+        ScheduleResult result = taskManager.schedule(new ScheduleRequest(List.of(fits.getId(), tooLong.getId()),
+                start.plusMinutes(30), start.plusMinutes(90), SchedulingStrategy.FIRST_FIT, null, true));
+
+        assertEquals(List.of(start.plusMinutes(60)), result.scheduled().stream().map(Task::getStartTime).toList(),
+                "Задача, начатая до notBefore, должна занимать начало окна");
+        assertEquals(List.of(tooLong.getId()), result.unscheduled());
+    }
+
+    @Test
+    void earliestDeadlineScheduleShouldPlaceUrgentTasksFirst() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Task relaxed = taskManager.createTask(new Task("Relaxed", "Desc", Duration.ofMinutes(60), null));
+        Task urgent = taskManager.createTask(new Task("Urgent", "Desc", Duration.ofMinutes(30), null));
+        Task impossible = taskManager.createTask(new Task("Impossible", "Desc", Duration.ofMinutes(60), null));
+
+        ScheduleResult result = taskManager.schedule(new ScheduleRequest(
+                List.of(relaxed.getId(), urgent.getId(), impossible.getId()), start, null,
+                SchedulingStrategy.EARLIEST_DEADLINE,
+                Map.of(urgent.getId(), start.plusMinutes(30), impossible.getId(), start.plusMinutes(45)), false));
+
+        assertEquals(List.of(urgent.getId(), relaxed.getId()), result.scheduled().stream().map(Task::getId).toList());
+        assertEquals(start, result.scheduled().get(0).getStartTime());
+        assertEquals(start.plusMinutes(30), result.scheduled().get(1).getStartTime());
+        assertEquals(List.of(impossible.getId()), result.unscheduled(), "Задача, не успевающая к сроку, не планируется");
+    }
+
+    @Test
+    void snapshotShouldKeepBoardStateAtItsVersion() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Task task = taskManager.createTask(new Task("Task", "Desc", Duration.ofMinutes(60), start.plusHours(2)));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Desc", epic.getId(), Duration.ofMinutes(30), start));
+
+        BoardSnapshot before = taskManager.snapshot();
+        assertSame(before, taskManager.snapshot(), "Без изменений должен возвращаться тот же снимок");
+        taskManager.updateTask(task.getId(), new Task(task.getId(), "Task", "Desc", TaskStatus.DONE,
+                Duration.ofMinutes(60), start.plusHours(5)));
+        taskManager.deleteSubtask(subtask.getId());
+        BoardSnapshot after = taskManager.snapshot();
+
+        assertTrue(after.version() > before.version(), "Версия должна расти после изменений");
+        assertEquals(TaskStatus.NEW, before.getTask(task.getId()).orElseThrow().getStatus(),
+                "Старый снимок не должен видеть обновление");
+        assertEquals(List.of(subtask.getId()), before.getEpic(epic.getId()).orElseThrow().getSubtaskIdsByEpic());
+        assertEquals(List.of(subtask.getId(), task.getId()),
+                before.getPrioritizedTasks().stream().map(Task::getId).toList());
+        assertEquals(1, before.getSubtasksByEpicId(epic.getId()).size());
+
+        assertEquals(TaskStatus.DONE, after.getTask(task.getId()).orElseThrow().getStatus());
+        assertTrue(after.getSubtasks().isEmpty(), "Удалённая подзадача не должна попасть в новый снимок");
+        assertTrue(after.getEpic(epic.getId()).orElseThrow().getSubtaskIdsByEpic().isEmpty());
+        assertEquals(List.of(start.plusHours(5)),
+                after.getPrioritizedTasks().stream().map(Task::getStartTime).toList());
+    }
+
+    @Test
+    void deleteWithWrongTypeShouldKeepItemSearchable() {
+        Task task = taskManager.createTask(new Task("Alpha", "Desc"));
+        Epic epic = taskManager.createEpic(new Epic("Beta", "Desc"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Gamma", "Desc", epic.getId()));
+
+        assertNull(taskManager.deleteTask(epic.getId()));
+        assertNull(taskManager.deleteTask(subtask.getId()));
+        assertNull(taskManager.deleteEpic(task.getId()));
+        assertNull(taskManager.deleteEpic(subtask.getId()));
+
+        assertEquals(List.of(task.getId()), taskManager.search("alpha", 0, 10).stream().map(Task::getId).toList());
+        assertEquals(List.of(epic.getId()), taskManager.search("beta", 0, 10).stream().map(Task::getId).toList(),
+                "Удаление с неверным типом не должно убирать эпик из поиска");
+        assertEquals(List.of(subtask.getId()), taskManager.search("gamma", 0, 10).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void findFreeSlotShouldAccountForTasksBeforeNotBefore() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        taskManager.createTask(new Task("Long", "Desc", Duration.ofMinutes(60), start));
+        taskManager.createTask(new Task("Instant", "Desc", Duration.ZERO, start.plusMinutes(60)));
+        taskManager.createTask(new Task("Late", "Desc", Duration.ofMinutes(30), start.plusMinutes(90)));
+
+        assertEquals(Optional.of(start.plusMinutes(60)),
+                taskManager.findFreeSlot(Duration.ofMinutes(30), start.plusMinutes(45), null),
+                "Поиск должен продолжаться с конца задачи, начатой до notBefore");
+        assertEquals(Optional.of(start.plusMinutes(120)),
+                taskManager.findFreeSlot(Duration.ofMinutes(45), start.plusMinutes(45), null));
+        assertEquals(Optional.of(start.plusMinutes(120)),
+                taskManager.findFreeSlot(Duration.ofMinutes(30), start.plusMinutes(75), null));
+    }
+
+    @Test
+    void prioritizedWindowShouldBeEmptyWhenEndIsBeforeStart() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        taskManager.createTask(new Task("Task", "Desc", Duration.ofMinutes(60), start));
+
+        assertTrue(taskManager.getPrioritizedTasks(start.plusMinutes(30), start.plusMinutes(10)).isEmpty(),
+                "Окно с концом раньше начала должно быть пустым");
+    }
+
+    @Test
+    void deleteWithWrongTypeShouldKeepStatusIndex() {
+        Task task = taskManager.createTask(new Task("Task", "Desc"));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Subtask subtask = taskManager.createSubtask(new Subtask("Subtask", "Desc", epic.getId()));
+
+        taskManager.deleteTask(epic.getId());
+        taskManager.deleteTask(subtask.getId());
+        taskManager.deleteEpic(task.getId());
+        taskManager.deleteEpic(subtask.getId());
+
+        assertEquals(List.of(task.getId()), taskManager.getByStatus(TaskType.TASK, TaskStatus.NEW).stream()
+                .map(Task::getId).toList());
+        assertEquals(List.of(epic.getId()), taskManager.getByStatus(TaskType.EPIC, TaskStatus.NEW).stream()
+                .map(Task::getId).toList(), "Удаление с неверным типом не должно менять индекс статусов");
+        assertEquals(List.of(subtask.getId()), taskManager.getByStatus(TaskType.SUBTASK, TaskStatus.NEW).stream()
+                .map(Task::getId).toList());
+    }
+
+    @Test
+    void snapshotShouldSeeLatestEpicStateAfterManySubtaskWrites() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        Epic removed = taskManager.createEpic(new Epic("Removed", "Desc"));
+        BoardSnapshot before = taskManager.snapshot();
+        List<Integer> subtaskIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            subtaskIds.add(taskManager.createSubtask(new Subtask("Subtask " + i, "Desc", epic.getId(),
+                    Duration.ofMinutes(10), start.plusMinutes(i * 10L))).getId());
+        }
+        taskManager.createSubtask(new Subtask("Orphan", "Desc", removed.getId()));
+        taskManager.deleteEpic(removed.getId());
+
+        BoardSnapshot after = taskManager.snapshot();
+
+        assertTrue(before.getEpic(epic.getId()).orElseThrow().getSubtaskIdsByEpic().isEmpty());
+        Epic published = after.getEpic(epic.getId()).orElseThrow();
+        assertEquals(subtaskIds, published.getSubtaskIdsByEpic());
+        assertEquals(start.plusMinutes(500), published.getEndTime(), "Снимок должен видеть последнее время эпика");
+        assertTrue(after.getEpic(removed.getId()).isEmpty(), "Удалённый эпик не должен попасть в снимок");
+    }
+
+    @Test
+    void snapshotShouldNotBeChangedThroughReturnedTasks() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Task first = taskManager.createTask(new Task("First", "Desc", Duration.ofMinutes(60), start));
+        Task second = taskManager.createTask(new Task("Second", "Desc", Duration.ofMinutes(60), start.plusHours(2)));
+        Epic epic = taskManager.createEpic(new Epic("Epic", "Desc"));
+        BoardSnapshot snapshot = taskManager.snapshot();
+
+        Task returned = snapshot.getTask(first.getId()).orElseThrow();
+        returned.setStatus(TaskStatus.DONE);
+        returned.setStartTime(start.plusHours(4));
+        snapshot.getPrioritizedTasks().get(1).setStartTime(start.minusHours(4));
+        snapshot.getEpic(epic.getId()).orElseThrow().addSubtaskId(100);
+
+        assertEquals(TaskStatus.NEW, snapshot.getTask(first.getId()).orElseThrow().getStatus(),
+                "Изменение возвращённой задачи не должно попадать в снимок");
+        assertEquals(List.of(first.getId(), second.getId()),
+                snapshot.getPrioritizedTasks().stream().map(Task::getId).toList());
+        assertEquals(List.of(start, start.plusHours(2)),
+                snapshot.getPrioritizedTasks().stream().map(Task::getStartTime).toList());
+        assertTrue(snapshot.getEpic(epic.getId()).orElseThrow().getSubtaskIdsByEpic().isEmpty());
+        assertSame(snapshot, taskManager.snapshot(), "Снимок не должен считаться изменённым");
+    }
+
     @Test
     void shouldNotAllowTaskWithoutStartTime() {
         Task task = new Task("Task without time", "Desc", Duration.ZERO, null);
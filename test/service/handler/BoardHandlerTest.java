@@ -0,0 +1,86 @@
+package service.handler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import http.HttpTaskServer;
+import http.handler.adapter.DurationAdapter;
+import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Managers;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoardHandlerTest {
+    private static final int PORT = HttpTaskServer.PORT;
+    private static final String BASE_URL = "http://localhost:" + PORT + "/board";
+
+    private HttpTaskServer server;
+    private TaskManager manager;
+    private HttpClient client;
+    private Gson gson;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = Managers.getDefault();
+        server = new HttpTaskServer(manager);
+        client = HttpClient.newHttpClient();
+        gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
+                .create();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void shouldReturnWholeBoardAtOneVersion() throws IOException, InterruptedException {
+        manager.createTask(new Task("Task", "Description",
+                Duration.ofMinutes(60), LocalDateTime.of(2025, 3, 1, 10, 0)));
+        Epic epic = manager.createEpic(new Epic("Epic", "Description"));
+        Subtask subtask = manager.createSubtask(new Subtask("Subtask", "Description", epic.getId(),
+                Duration.ofMinutes(30), LocalDateTime.of(2025, 3, 1, 9, 0)));
+
+        HttpResponse<String> response = get(BASE_URL);
+
+        assertEquals(200, response.statusCode());
+        JsonObject board = gson.fromJson(response.body(), JsonObject.class);
+        assertEquals(manager.snapshot().version(), board.get("version").getAsLong());
+        assertEquals(1, board.getAsJsonArray("tasks").size());
+        assertEquals(1, board.getAsJsonArray("epics").size());
+        assertEquals(subtask.getId(), board.getAsJsonArray("epics").get(0).getAsJsonObject()
+                .getAsJsonArray("subtaskIds").get(0).getAsInt());
+        assertEquals(1, board.getAsJsonArray("subtasks").size());
+        assertEquals(subtask.getId(), board.getAsJsonArray("prioritized").get(0).getAsJsonObject().get("id").getAsInt());
+        assertEquals(2, board.getAsJsonArray("prioritized").size());
+        assertEquals(400, get(BASE_URL + "/1").statusCode());
+    }
+}
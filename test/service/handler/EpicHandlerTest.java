@@ -6,6 +6,7 @@ import com.google.gson.reflect.TypeToken;
 import http.HttpTaskServer;
 import http.handler.adapter.DurationAdapter;
 import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
 import model.Epic;
 import model.Subtask;
 import org.junit.jupiter.api.AfterEach;
@@ -42,6 +43,7 @@ class EpicHandlerTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
                 .create();
         server.start();
     }
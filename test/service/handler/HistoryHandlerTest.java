@@ -6,6 +6,7 @@ import com.google.gson.reflect.TypeToken;
 import http.HttpTaskServer;
 import http.handler.adapter.DurationAdapter;
 import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
 import model.Epic;
 import model.Subtask;
 import model.Task;
@@ -47,6 +48,7 @@ class HistoryHandlerTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
                 .create();
         server.start();
     }
@@ -6,6 +6,7 @@ import com.google.gson.reflect.TypeToken;
 import http.HttpTaskServer;
 import http.handler.adapter.DurationAdapter;
 import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
 import model.Epic;
 import model.Subtask;
 import model.Task;
@@ -44,6 +45,7 @@ class PrioritizedHandlerTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
                 .create();
         server.start();
     }
@@ -132,4 +134,31 @@ class PrioritizedHandlerTest {
         assertEquals(subtask.getId(), prioritizedTasks.get(0).getId());
         assertEquals(task.getId(), prioritizedTasks.get(1).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnOnlyTasksInsideRequestedWindow() throws IOException, InterruptedException {
+        Task overlapping = manager.createTask(new Task("Task 1", "Description",
+                Duration.ofMinutes(60), LocalDateTime.of(2025, 3, 1, 9, 30)));
+        Task inside = manager.createTask(new Task("Task 2", "Description",
+                Duration.ofMinutes(30), LocalDateTime.of(2025, 3, 1, 11, 0)));
+        manager.createTask(new Task("Task 3", "Description",
+                Duration.ofMinutes(30), LocalDateTime.of(2025, 3, 1, 12, 0)));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "?from=2025-03-01T10:00:00&to=2025-03-01T12:00:00"))
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        List<Task> window = gson.fromJson(response.body(), new TypeToken<List<Task>>() {}.getType());
+        assertEquals(List.of(overlapping.getId(), inside.getId()), window.stream().map(Task::getId).toList(),
+                "Окно должно включать задачу, начавшуюся раньше, но ещё идущую");
+
+        HttpRequest invalid = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "?from=yesterday"))
+                .GET()
+                .build();
+        assertEquals(400, client.send(invalid, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+}
@@ -0,0 +1,93 @@
+package service.handler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import http.HttpTaskServer;
+import http.handler.adapter.DurationAdapter;
+import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Managers;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleHandlerTest {
+    private static final int PORT = HttpTaskServer.PORT;
+    private static final String BASE_URL = "http://localhost:" + PORT + "/schedule";
+
+    private HttpTaskServer server;
+    private TaskManager manager;
+    private HttpClient client;
+    private Gson gson;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = Managers.getDefault();
+        server = new HttpTaskServer(manager);
+        client = HttpClient.newHttpClient();
+        gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
+                .create();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> schedule(String query, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + query))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void shouldPreviewAndApplySchedule() throws IOException, InterruptedException {
+        manager.createTask(new Task("Busy", "Description",
+                Duration.ofMinutes(60), LocalDateTime.of(2025, 3, 1, 10, 0)));
+        Task pending = manager.createTask(new Task("Pending", "Description", Duration.ofMinutes(30), null));
+        String body = "{\"notBefore\": \"2025-03-01T10:00:00\", \"strategy\": \"FIRST_FIT\"}";
+
+        HttpResponse<String> preview = schedule("?dryRun=true", body);
+
+        assertEquals(200, preview.statusCode());
+        JsonObject result = gson.fromJson(preview.body(), JsonObject.class);
+        assertTrue(result.get("dryRun").getAsBoolean());
+        JsonObject placed = result.getAsJsonArray("scheduled").get(0).getAsJsonObject();
+        assertEquals(pending.getId(), placed.get("id").getAsInt());
+        assertEquals("2025-03-01T11:00:00", placed.get("startTime").getAsString());
+        assertNull(manager.getTaskById(pending.getId()).orElseThrow().getStartTime(), "Пробный запуск не сохраняет план");
+
+        HttpResponse<String> applied = schedule("", body);
+
+        assertEquals(200, applied.statusCode());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 11, 0), manager.getTaskById(pending.getId()).orElseThrow().getStartTime());
+    }
+
+    @Test
+    void shouldRejectRequestWithoutStart() throws IOException, InterruptedException {
+        assertEquals(400, schedule("", "{\"strategy\": \"FIRST_FIT\"}").statusCode());
+        assertEquals(400, schedule("", "").statusCode());
+    }
+}
@@ -0,0 +1,99 @@
+package service.handler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import http.HttpTaskServer;
+import http.handler.adapter.DurationAdapter;
+import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Managers;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchHandlerTest {
+    private static final int PORT = HttpTaskServer.PORT;
+    private static final String BASE_URL = "http://localhost:" + PORT + "/search";
+
+    private HttpTaskServer server;
+    private TaskManager manager;
+    private HttpClient client;
+    private Gson gson;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = Managers.getDefault();
+        server = new HttpTaskServer(manager);
+        client = HttpClient.newHttpClient();
+        gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
+                .create();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> search(String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "?" + query))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void shouldReturnRankedMatchesAcrossAllTypes() throws IOException, InterruptedException {
+        Task task = manager.createTask(new Task("Купить ёлку", "К празднику"));
+        Epic epic = manager.createEpic(new Epic("Праздник", "Подготовка: купить елку и игрушки"));
+        Subtask subtask = manager.createSubtask(new Subtask("Игрушки", "Ёлочные", epic.getId()));
+        manager.createTask(new Task("Отчёт", "Квартальный"));
+
+        HttpResponse<String> response = search("q=" + URLEncoder.encode("ЕЛКУ", StandardCharsets.UTF_8));
+
+        assertEquals(200, response.statusCode());
+        List<Task> matches = gson.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(List.of(task.getId(), epic.getId()), matches.stream().map(Task::getId).toList(),
+                "Совпадение в названии должно ранжироваться выше совпадения в описании");
+
+        String prefixQuery = "q=" + URLEncoder.encode("игрушк", StandardCharsets.UTF_8);
+        matches = gson.fromJson(search(prefixQuery).body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(List.of(subtask.getId(), epic.getId()), matches.stream().map(Task::getId).toList(),
+                "Поиск по префиксу должен находить словоформы");
+
+        matches = gson.fromJson(search(prefixQuery + "&offset=1&limit=1").body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(List.of(epic.getId()), matches.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldRejectMissingQueryAndInvalidPaging() throws IOException, InterruptedException {
+        assertEquals(400, search("offset=0").statusCode());
+        assertEquals(400, search("q=task&limit=abc").statusCode());
+        assertEquals(400, search("q=task&limit=0").statusCode());
+    }
+}
@@ -0,0 +1,88 @@
+package service.handler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import http.HttpTaskServer;
+import http.handler.adapter.DurationAdapter;
+import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.Managers;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlotHandlerTest {
+    private static final int PORT = HttpTaskServer.PORT;
+    private static final String BASE_URL = "http://localhost:" + PORT + "/slots";
+
+    private HttpTaskServer server;
+    private TaskManager manager;
+    private HttpClient client;
+    private Gson gson;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = Managers.getDefault();
+        server = new HttpTaskServer(manager);
+        client = HttpClient.newHttpClient();
+        gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
+                .create();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> slots(String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "?" + query))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void shouldReturnFirstFreeSlot() throws IOException, InterruptedException {
+        manager.createTask(new Task("Task 1", "Description",
+                Duration.ofMinutes(60), LocalDateTime.of(2025, 3, 1, 10, 0)));
+        manager.createTask(new Task("Task 2", "Description",
+                Duration.ofMinutes(30), LocalDateTime.of(2025, 3, 1, 11, 30)));
+
+        HttpResponse<String> response = slots("duration=90&notBefore=2025-03-01T10:30:00");
+
+        assertEquals(200, response.statusCode());
+        JsonObject slot = gson.fromJson(response.body(), JsonObject.class);
+        assertEquals("2025-03-01T12:00:00", slot.get("startTime").getAsString());
+        assertEquals("2025-03-01T13:30:00", slot.get("endTime").getAsString());
+        assertEquals(90, slot.get("duration").getAsInt());
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenWindowIsBusy() throws IOException, InterruptedException {
+        manager.createTask(new Task("Task 1", "Description",
+                Duration.ofMinutes(60), LocalDateTime.of(2025, 3, 1, 10, 0)));
+
+        HttpResponse<String> response = slots("duration=30&notBefore=2025-03-01T10:00:00&notAfter=2025-03-01T11:30:00");
+        assertEquals(200, response.statusCode());
+        assertEquals(404, slots("duration=30&notBefore=2025-03-01T10:00:00&notAfter=2025-03-01T11:20:00").statusCode());
+        assertEquals(400, slots("duration=30").statusCode());
+    }
+}
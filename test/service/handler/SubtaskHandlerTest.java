@@ -2,13 +2,16 @@ package service.handler;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import exceptions.NotFoundException;
 import http.HttpTaskServer;
 import http.handler.adapter.DurationAdapter;
 import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
 import model.Epic;
 import model.Subtask;
+import model.TaskStatus;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +54,7 @@ class SubtaskHandlerTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
                 .create();
         server.start();
     }
@@ -259,4 +263,23 @@ class SubtaskHandlerTest {
         assertEquals(406, response.statusCode());
         assertEquals(1, manager.getSubtasks().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldKeepJsonTimeFormatForSubtask() {
+        Subtask subtask = new Subtask(7, "Subtask", "Description", TaskStatus.NEW, epic.getId(),
+                Duration.ofMinutes(45), LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        JsonObject json = gson.toJsonTree(subtask).getAsJsonObject();
+
+        assertEquals(45, json.get("duration").getAsLong(), "Длительность должна сериализоваться в минутах");
+        assertEquals("2025-03-01T12:00:00", json.get("startTime").getAsString());
+        assertEquals("2025-03-01T12:45:00", json.get("endTime").getAsString());
+        assertEquals(epic.getId(), json.get("epicId").getAsInt());
+
+        Subtask restored = gson.fromJson(json, Subtask.class);
+        assertEquals(subtask.getStartTime(), restored.getStartTime(), "Время начала должно восстановиться");
+        assertEquals(subtask.getEndTime(), restored.getEndTime(), "Время окончания должно восстановиться");
+        assertEquals(subtask.getDuration(), restored.getDuration(), "Длительность должна восстановиться");
+        assertEquals(subtask.getEpicId(), restored.getEpicId(), "Эпик подзадачи должен восстановиться");
+    }
+}
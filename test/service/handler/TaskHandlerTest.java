@@ -7,7 +7,9 @@ import exceptions.NotFoundException;
 import http.HttpTaskServer;
 import http.handler.adapter.DurationAdapter;
 import http.handler.adapter.LocalDateTimeAdapter;
+import http.handler.adapter.TaskTypeAdapterFactory;
 import model.Task;
+import model.TaskStatus;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +44,7 @@ class TaskHandlerTest {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskTypeAdapterFactory())
                 .create();
         server.start();
     }
@@ -287,4 +290,28 @@ class TaskHandlerTest {
         List<Task> tasks = manager.getTasks();
         assertEquals(2, tasks.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFilterTasksByStatus() throws IOException, InterruptedException {
+        manager.createTask(new Task("Task 1", "Description", TaskStatus.NEW));
+        Task inProgress = manager.createTask(new Task("Task 2", "Description", TaskStatus.IN_PROGRESS));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "?status=IN_PROGRESS"))
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        List<Task> tasks = gson.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(1, tasks.size(), "Должна вернуться только задача в работе");
+        assertEquals(inProgress.getId(), tasks.get(0).getId());
+
+        HttpRequest invalid = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "?status=UNKNOWN"))
+                .GET()
+                .build();
+        assertEquals(400, client.send(invalid, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+}